@@ -1,6 +1,6 @@
 package com.semihtemiz.pms;
 
-import com.semihtemiz.pms.service.DataStorageService;
+import com.semihtemiz.pms.service.StorageService;
 import com.semihtemiz.pms.ui.LoginFrame;
 
 /**
@@ -12,7 +12,7 @@ public class Main {
      * Uygulamayı başlatan ana metod
      */
     public static void main(String[] args) {
-        DataStorageService dataService = new DataStorageService();
+        StorageService dataService = StorageService.open();
         LoginFrame loginFrame = new LoginFrame(dataService);
         loginFrame.setVisible(true);
     }
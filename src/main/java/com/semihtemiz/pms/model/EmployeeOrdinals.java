@@ -0,0 +1,64 @@
+package com.semihtemiz.pms.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *personel id <-> sıra numarası sözlüğü
+ *
+ *giriş/çıkış kayıtları personel id'sini metin yerine int sıra olarak tutar
+ *her id'ye ilk görüldüğünde sıradaki numara verilir, numara süreç boyunca değişmez
+ *aynı personelin tüm kayıtları tek id metnini paylaşır
+ *
+ *sıralar yalnızca bellekte kullanılır, diske yazılmaz
+ */
+public final class EmployeeOrdinals {
+    //id olmayan kayıtların sırası
+    public static final int NONE = -1;
+
+    private static final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+
+    //sıra -> id (büyütülürken kopyalanır, okuma kilitsizdir)
+    private static volatile String[] ids = new String[64];
+    private static int size;
+
+    private EmployeeOrdinals() {
+    }
+
+    /**
+     * @param employeeId personel id
+     * @return id'nin sırası, id null ise NONE
+     */
+    public static int of(String employeeId) {
+        if (employeeId == null) {
+            return NONE;
+        }
+        Integer ordinal = ordinals.get(employeeId);
+        return ordinal != null ? ordinal : register(employeeId);
+    }
+
+    /**
+     * @param ordinal sıra
+     * @return sıranın personel id'si, NONE için null
+     */
+    public static String idOf(int ordinal) {
+        return ordinal == NONE ? null : ids[ordinal];
+    }
+
+    private static synchronized int register(String employeeId) {
+        Integer existing = ordinals.get(employeeId);
+        if (existing != null) {
+            return existing;
+        }
+        String[] current = ids;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = employeeId;
+        //dizi, sıra haritaya konmadan önce yayınlanır
+        ids = current;
+        ordinals.put(employeeId, size);
+        return size++;
+    }
+}
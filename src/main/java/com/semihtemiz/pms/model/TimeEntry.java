@@ -1,9 +1,14 @@
 package com.semihtemiz.pms.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 /**
@@ -12,29 +17,52 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  *giriş/çıkış zamanları
  *çalışma süresi
  *fazla mesai durumu
+ *
+ *bellekte sıkı biçimde tutulur: zamanlar epoch saniyesi (yerel saat utc gibi),
+ *personel id'si EmployeeOrdinals sırası olarak saklanır, süre okunurken hesaplanır
+ *getter ve setter'lar LocalDateTime/String görünümünü korur (json biçimi değişmez)
+ *saniye altı kısım saklanmaz
+ *
+ *sıra yalnızca bu süreçte geçerli olduğundan serileştirmede personel id'si
+ *yazılır, okunurken yeniden sıraya çevrilir
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TimeEntry implements Serializable {
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 3L;
+
+    //zamanı olmayan alanların değeri
+    public static final long NONE = Long.MIN_VALUE;
+
+    //fazla mesai sınırı: 8 saati aşan tam saat, yani en az 9 saat
+    private static final long OVERTIME_SECONDS = 9 * 3600;
     
     //id
     private String id;
     
-    //personel id
-    private String employeeId;
+    //personel sırası (serileştirmede id olarak yazılır)
+    private transient int employee = EmployeeOrdinals.NONE;
     
-    //zaman bilgileri
-    private LocalDateTime checkIn;
-    private LocalDateTime checkOut;
+    //zaman bilgileri (epoch saniyesi)
+    private long checkIn = NONE;
+    private long checkOut = NONE;
     
-    //süre bilgileri
-    private Duration workDuration;
+    //fazla mesai durumu
     private boolean overtime;
 
     
     public TimeEntry() {
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(EmployeeOrdinals.idOf(employee));
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        employee = EmployeeOrdinals.of((String) in.readObject());
+    }
+
     /**
      *giriş kaydı oluşturma
      *
@@ -47,8 +75,8 @@ public class TimeEntry implements Serializable {
      */
     public TimeEntry(String id, String employeeId, LocalDateTime checkIn) {
         this.id = id;
-        this.employeeId = employeeId;
-        this.checkIn = checkIn;
+        this.employee = EmployeeOrdinals.of(employeeId);
+        this.checkIn = toSecond(checkIn);
     }
 
     /**
@@ -58,10 +86,9 @@ public class TimeEntry implements Serializable {
      *fazla mesai = süre > 8 saat
      */
     public void calculateWorkDuration() {
-        if (checkIn != null && checkOut != null) {
-            workDuration = Duration.between(checkIn, checkOut);
+        if (checkIn != NONE && checkOut != NONE) {
             //8 saatten fazla çalışma mesai sayılır
-            overtime = workDuration.toHours() > 8;
+            overtime = checkOut - checkIn >= OVERTIME_SECONDS;
         }
     }
 
@@ -75,32 +102,56 @@ public class TimeEntry implements Serializable {
     }
 
     public String getEmployeeId() {
-        return employeeId;
+        return EmployeeOrdinals.idOf(employee);
     }
 
     public void setEmployeeId(String employeeId) {
-        this.employeeId = employeeId;
+        this.employee = EmployeeOrdinals.of(employeeId);
+    }
+
+    /**
+     * @return personel sırası (EmployeeOrdinals)
+     */
+    @JsonIgnore
+    public int getEmployeeOrdinal() {
+        return employee;
     }
 
     public LocalDateTime getCheckIn() {
-        return checkIn;
+        return toTime(checkIn);
     }
 
     public void setCheckIn(LocalDateTime checkIn) {
-        this.checkIn = checkIn;
+        this.checkIn = toSecond(checkIn);
+    }
+
+    /**
+     * @return giriş zamanının epoch saniyesi, yoksa NONE
+     */
+    @JsonIgnore
+    public long getCheckInEpochSecond() {
+        return checkIn;
     }
 
     public LocalDateTime getCheckOut() {
-        return checkOut;
+        return toTime(checkOut);
     }
 
     public void setCheckOut(LocalDateTime checkOut) {
-        this.checkOut = checkOut;
+        this.checkOut = toSecond(checkOut);
         calculateWorkDuration();
     }
 
+    /**
+     * @return çıkış zamanının epoch saniyesi, yoksa NONE
+     */
+    @JsonIgnore
+    public long getCheckOutEpochSecond() {
+        return checkOut;
+    }
+
     public Duration getWorkDuration() {
-        return workDuration;
+        return checkIn != NONE && checkOut != NONE ? Duration.ofSeconds(checkOut - checkIn) : null;
     }
 
     public boolean isOvertime() {
@@ -111,14 +162,22 @@ public class TimeEntry implements Serializable {
         this.overtime = overtime;
     }
 
+    private static long toSecond(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : NONE;
+    }
+
+    private static LocalDateTime toTime(long second) {
+        return second != NONE ? LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC) : null;
+    }
+
     @Override
     public String toString() {
         return "TimeEntry{" +
                 "id='" + id + '\'' +
-                ", employeeId='" + employeeId + '\'' +
-                ", checkIn=" + checkIn +
-                ", checkOut=" + checkOut +
-                ", workDuration=" + workDuration +
+                ", employeeId='" + getEmployeeId() + '\'' +
+                ", checkIn=" + getCheckIn() +
+                ", checkOut=" + getCheckOut() +
+                ", workDuration=" + getWorkDuration() +
                 ", overtime=" + overtime +
                 '}';
     }
@@ -0,0 +1,100 @@
+package com.semihtemiz.pms.service;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ *çökmeye dayanıklı dosya yazma
+ *
+ *önce aynı dizinde geçici dosyaya yazma
+ *geçici dosyayı diske zorlama (fsync)
+ *eski dosyanın üzerine atomik yeniden adlandırma
+ *çökme anında dosya ya eski ya yeni haliyle kalır
+ */
+public final class AtomicFiles {
+    //geçici dosya uzantısı
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private AtomicFiles() {
+    }
+
+    /**
+     *nesneyi dosyaya atomik olarak yazma
+     *
+     * @param target hedef dosya
+     * @param writer json yazıcı
+     * @param value yazılacak nesne
+     * @throws IOException dosya yazılamazsa
+     */
+    public static void writeValue(File target, ObjectWriter writer, Object value) throws IOException {
+        //akış fsync için açık kalmalı
+        ObjectWriter streamWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        write(target, out -> streamWriter.writeValue(out, value));
+    }
+
+    /**
+     *ham baytları dosyaya atomik olarak yazma
+     *
+     * @param target hedef dosya
+     * @param data yazılacak baytlar
+     * @throws IOException dosya yazılamazsa
+     */
+    public static void writeBytes(File target, byte[] data) throws IOException {
+        write(target, out -> out.write(data));
+    }
+
+    private static void write(File target, Content content) throws IOException {
+        Path targetPath = target.toPath().toAbsolutePath();
+        Path tempPath = targetPath.resolveSibling(targetPath.getFileName() + TEMP_SUFFIX);
+
+        try (FileOutputStream out = new FileOutputStream(tempPath.toFile())) {
+            content.writeTo(out);
+            out.getChannel().force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+
+        try {
+            Files.move(tempPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(targetPath.getParent());
+    }
+
+    /**
+     *geçici dosyaya yazılacak içerik
+     */
+    private interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     *dizin kaydını diske zorlama
+     *
+     *yeniden adlandırmanın kalıcı olması için gerekir,
+     *desteklenmeyen sistemlerde (ör. windows) atlanır
+     */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            //dizin fsync desteklenmiyor
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.semihtemiz.pms.service;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ *yalnızca ekleme yapılan değişiklik günlüğü
+ *
+ *her değişiklik tek satırlık sıkıştırılmış json kaydı
+ *başlangıçta anlık görüntü üzerine yeniden oynatma
+ *sıkıştırma sonrası günlüğü boşaltma
+ *toplu ekleme başına tek fsync (grup kaydı)
+ */
+public class ChangeJournal {
+    //günlük dosyası
+    private final File file;
+
+    //tek satırlık json okuma/yazma
+    private final ObjectWriter recordWriter;
+    private final ObjectReader recordReader;
+
+    //açık günlük akışı
+    private FileOutputStream out;
+
+    //günlükteki kayıt sayısı
+    private int recordCount;
+
+    /**
+     *günlük oluşturma
+     *
+     * @param file günlük dosyası
+     * @param objectMapper ortak json dönüştürücü
+     */
+    public ChangeJournal(File file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.recordWriter = objectMapper.writerFor(JournalRecord.class)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        this.recordReader = objectMapper.readerFor(JournalRecord.class);
+    }
+
+    /**
+     *günlüğü baştan sona oynatma
+     *
+     *yalnızca son satır yarım olabilir (çökme sırasında kesilmiş yazma):
+     *satır sonu olmayan ya da ayrıştırılamayan son satır atlanır ve dosya
+     *son sağlam satırın sonuna kısaltılır, sonraki ekleme yarım satırın
+     *üzerine yazmaz
+     *ayrıştırılamayan satırdan sonra başka kayıt varsa günlük bozuktur
+     *
+     * @param consumer her kayıt için çağrılır
+     * @param repair yarım son satır dosyadan silinsin mi (salt okunur açılışta false)
+     * @return okunan kayıt sayısı
+     * @throws IOException dosya okunamazsa ya da sondan önceki bir satır bozuksa
+     */
+    public synchronized int replay(Consumer<JournalRecord> consumer, boolean repair) throws IOException {
+        recordCount = 0;
+        if (!file.exists()) {
+            return 0;
+        }
+
+        byte[] data = Files.readAllBytes(file.toPath());
+        //son sağlam satırın bittiği konum
+        int validEnd = 0;
+        int lineStart = 0;
+        int lineNumber = 0;
+        //ayrıştırılamayan satır (yalnızca sonda kabul edilir)
+        int brokenLine = 0;
+        String brokenReason = null;
+        while (lineStart < data.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < data.length && data[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            boolean terminated = lineEnd < data.length;
+            int next = terminated ? lineEnd + 1 : lineEnd;
+            String line = new String(data, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+            lineStart = next;
+            lineNumber++;
+            if (line.isBlank()) {
+                if (brokenReason == null) {
+                    validEnd = next;
+                }
+                continue;
+            }
+            if (brokenReason != null) {
+                throw new IOException("günlük bozuk (satır " + brokenLine + "): " + brokenReason);
+            }
+            if (!terminated) {
+                //satır sonu yazılamadan kesilmiş ekleme
+                brokenLine = lineNumber;
+                brokenReason = "satır sonu yok";
+                continue;
+            }
+            JournalRecord record;
+            try {
+                record = recordReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                brokenLine = lineNumber;
+                brokenReason = e.getOriginalMessage();
+                continue;
+            }
+            consumer.accept(record);
+            recordCount++;
+            validEnd = next;
+        }
+
+        if (validEnd < data.length) {
+            //çökme sırasında yarım kalan son satır
+            System.err.println("günlüğün yarım kalan son satırı atlandı (" + brokenLine + "): " + brokenReason);
+            if (repair) {
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    channel.truncate(validEnd);
+                    channel.force(false);
+                }
+            }
+        }
+        return recordCount;
+    }
+
+    /**
+     *kayıtları günlüğe ekleme
+     *
+     *tüm kayıtlar tek yazma ile eklenir ve tek fsync ile diske zorlanır
+     *yazma başarısız olursa dosya eklemeden önceki boyutuna kısaltılır
+     *
+     * @param records eklenecek kayıtlar
+     * @throws IOException dosyaya yazılamazsa
+     */
+    public synchronized void append(Collection<JournalRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (out == null) {
+            out = new FileOutputStream(file, true);
+        }
+        StringBuilder lines = new StringBuilder();
+        for (JournalRecord record : records) {
+            lines.append(recordWriter.writeValueAsString(record)).append('\n');
+        }
+        FileChannel channel = out.getChannel();
+        long start = channel.size();
+        try {
+            out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+            channel.force(false);
+        } catch (IOException e) {
+            //yarım kalan yazmayı geri al, sonraki ekleme yarım satıra eklenmesin
+            try {
+                channel.truncate(start);
+            } catch (IOException truncateError) {
+                e.addSuppressed(truncateError);
+            }
+            throw e;
+        }
+        recordCount += records.size();
+    }
+
+    /**
+     *günlüğü boşaltma
+     *
+     *anlık görüntü yazıldıktan sonra çağrılır
+     *
+     * @throws IOException dosya boşaltılamazsa
+     */
+    public synchronized void truncate() throws IOException {
+        close();
+        if (file.exists()) {
+            new FileOutputStream(file, false).close();
+        }
+        recordCount = 0;
+    }
+
+    /**
+     *günlük akışını kapatma
+     *
+     * @throws IOException akış kapatılamazsa
+     */
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * @return son sıkıştırmadan bu yana yazılan kayıt sayısı
+     */
+    public synchronized int size() {
+        return recordCount;
+    }
+}
@@ -0,0 +1,209 @@
+package com.semihtemiz.pms.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.semihtemiz.pms.model.TimeEntry;
+
+/**
+ *kapanmış aylar için sütunlu ikili giriş/çıkış dosyası
+ *
+ *json'dan türetilen salt okunur kopya, json asıl kaynak olmaya devam eder
+ *sabit genişlikli sütunlar: giriş (long), çıkış (long), personel sırası (int), fazla mesai (byte)
+ *dosya FileChannel.map ile belleğe eşlenir, taramada nesne oluşturulmaz
+ *
+ *dosya düzeni:
+ *başlık: sihirli sayı, sürüm, kaynak json'un crc32 değeri, satır sayısı
+ *personel sözlüğü: kayıt sayısı, her biri uzunluk + utf-8 id
+ *8 bayta hizalama, ardından sütunlar
+ *
+ *giriş zamanı olmayan kayıtlar yazılmaz (raporlarda kullanılmaz)
+ */
+public final class ColumnarTimeEntries {
+    //çıkış yapılmamış kayıtların çıkış değeri
+    public static final long OPEN = TimeEntry.NONE;
+
+    //dosya imzası ("PMSC") ve sürümü
+    private static final int MAGIC = 0x504D5343;
+    private static final int VERSION = 2;
+
+    //bir gündeki saniye
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    //eşlenmiş dosya
+    private final MappedByteBuffer buffer;
+
+    //kaynak json'un crc32 değeri
+    private final long sourceChecksum;
+
+    //sıra -> personel id
+    private final String[] employeeIds;
+
+    //satır sayısı ve sütun konumları
+    private final int rows;
+    private final int checkInOffset;
+    private final int checkOutOffset;
+    private final int ordinalOffset;
+    private final int overtimeOffset;
+
+    private ColumnarTimeEntries(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("tanınmayan sütunlu dosya");
+        }
+        this.sourceChecksum = buffer.getLong(8);
+        this.rows = buffer.getInt(16);
+
+        int position = 20;
+        int dictionarySize = buffer.getInt(position);
+        position += 4;
+        employeeIds = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            int length = buffer.getShort(position) & 0xFFFF;
+            position += 2;
+            byte[] bytes = new byte[length];
+            for (int b = 0; b < length; b++) {
+                bytes[b] = buffer.get(position + b);
+            }
+            employeeIds[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += length;
+        }
+
+        this.checkInOffset = align(position);
+        this.checkOutOffset = checkInOffset + rows * 8;
+        this.ordinalOffset = checkOutOffset + rows * 8;
+        this.overtimeOffset = ordinalOffset + rows * 4;
+        if (overtimeOffset + rows > buffer.capacity()) {
+            throw new IOException("sütunlu dosya eksik");
+        }
+    }
+
+    /**
+     *kayıtları sütunlu dosyaya atomik olarak yazma
+     *
+     * @param file hedef dosya
+     * @param entries bir aya ait kayıtlar
+     * @param sourceChecksum kaynak json'un crc32 değeri (başlığa yazılır)
+     * @throws IOException dosya yazılamazsa
+     */
+    public static void write(File file, List<TimeEntry> entries, long sourceChecksum) throws IOException {
+        List<TimeEntry> rows = new ArrayList<>(entries.size());
+        Map<String, Integer> ordinals = new LinkedHashMap<>();
+        int dictionaryBytes = 0;
+        for (TimeEntry entry : entries) {
+            if (entry.getCheckInEpochSecond() == TimeEntry.NONE) {
+                continue;
+            }
+            rows.add(entry);
+            if (!ordinals.containsKey(entry.getEmployeeId())) {
+                ordinals.put(entry.getEmployeeId(), ordinals.size());
+                dictionaryBytes += 2 + entry.getEmployeeId().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+
+        int checkInOffset = align(24 + dictionaryBytes);
+        ByteBuffer out = ByteBuffer.allocate(checkInOffset + rows.size() * 21);
+        out.putInt(MAGIC).putInt(VERSION);
+        out.putLong(sourceChecksum);
+        out.putInt(rows.size());
+        out.putInt(ordinals.size());
+        for (String employeeId : ordinals.keySet()) {
+            byte[] bytes = employeeId.getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) bytes.length).put(bytes);
+        }
+
+        out.position(checkInOffset);
+        for (TimeEntry entry : rows) {
+            out.putLong(entry.getCheckInEpochSecond());
+        }
+        for (TimeEntry entry : rows) {
+            out.putLong(entry.getCheckOutEpochSecond());
+        }
+        for (TimeEntry entry : rows) {
+            out.putInt(ordinals.get(entry.getEmployeeId()));
+        }
+        for (TimeEntry entry : rows) {
+            out.put((byte) (entry.isOvertime() ? 1 : 0));
+        }
+
+        AtomicFiles.writeBytes(file, out.array());
+    }
+
+    /**
+     *sütunlu dosyayı belleğe eşleme
+     *
+     *eşleme kanal kapandıktan sonra da geçerli kalır
+     *
+     * @param file sütunlu dosya
+     * @return eşlenmiş dosya
+     * @throws IOException dosya okunamazsa veya biçimi tanınmazsa
+     */
+    public static ColumnarTimeEntries open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            return new ColumnarTimeEntries(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @param checksum kaynak json'un güncel crc32 değeri
+     * @return dosya bu içerikteki json'dan üretilmişse true
+     */
+    public boolean isCurrent(long checksum) {
+        return checksum == sourceChecksum;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     *giriş günü aralıktaki satırları gezme
+     *
+     * @param fromEpochDay başlangıç günü (dahil)
+     * @param toEpochDay bitiş günü (dahil)
+     * @param visitor her satır için çağrılır
+     */
+    public void scan(long fromEpochDay, long toEpochDay, TimeEntryVisitor visitor) {
+        for (int row = 0; row < rows; row++) {
+            long checkIn = buffer.getLong(checkInOffset + row * 8);
+            long day = Math.floorDiv(checkIn, SECONDS_PER_DAY);
+            if (day < fromEpochDay || day > toEpochDay) {
+                continue;
+            }
+            visitor.visit(employeeIds[buffer.getInt(ordinalOffset + row * 4)],
+                    checkIn,
+                    buffer.getLong(checkOutOffset + row * 8),
+                    buffer.get(overtimeOffset + row) != 0);
+        }
+    }
+
+    /**
+     * @return zamanın epoch saniyesi (yerel saat utc gibi)
+     */
+    public static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * @return epoch saniyesinin günü
+     */
+    public static long epochDay(long epochSecond) {
+        return Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    }
+
+    private static int align(int position) {
+        return (position + 7) & ~7;
+    }
+}
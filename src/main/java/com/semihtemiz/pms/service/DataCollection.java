@@ -0,0 +1,19 @@
+package com.semihtemiz.pms.service;
+
+/**
+ *saklanan veri koleksiyonları
+ *
+ *personel bilgileri
+ *giriş/çıkış kayıtları
+ *izin talepleri
+ */
+public enum DataCollection {
+    //personel bilgileri
+    EMPLOYEES,
+
+    //giriş/çıkış kayıtları
+    TIME_ENTRIES,
+
+    //izin talepleri
+    LEAVE_REQUESTS
+}
@@ -0,0 +1,153 @@
+package com.semihtemiz.pms.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ *veri dosyalarının disk biçimi
+ *
+ *-Dpms.format ile seçilir:
+ *pretty (varsayılan) - girintili json, elle okumak için
+ *json - girintisiz json
+ *smile - ikili json (jackson smile)
+ *cbor - ikili json (rfc 8949)
+ *
+ *json biçimlerinde tarihler iso metni, ikili biçimlerde sayı dizisi olarak yazılır
+ *okuyucu her iki gösterimi de kabul eder
+ *
+ *günlük (journal.log) ve ay indeksi (index.json) her zaman json kalır
+ */
+public enum DataFormat {
+    PRETTY_JSON("pretty", "json"),
+    JSON("json", "json"),
+    SMILE("smile", "smile"),
+    CBOR("cbor", "cbor");
+
+    //ayar değeri ve dosya uzantısı
+    private final String property;
+    private final String extension;
+
+    //biçim için yapılandırılmış dönüştürücü (ilk kullanımda oluşturulur)
+    private ObjectMapper mapper;
+
+    DataFormat(String property, String extension) {
+        this.property = property;
+        this.extension = extension;
+    }
+
+    /**
+     * @return -Dpms.format ile seçilen biçim
+     * @throws IllegalArgumentException biçim tanınmazsa
+     */
+    public static DataFormat configured() {
+        String value = System.getProperty("pms.format", PRETTY_JSON.property);
+        for (DataFormat format : values()) {
+            if (format.property.equals(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("tanınmayan veri biçimi: " + value);
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @return dizindeki bu biçimde kayıtlı dosya (ör. data/employees.smile)
+     */
+    public File file(File directory, String baseName) {
+        return new File(directory, baseName + "." + extension);
+    }
+
+    /**
+     *dosyanın diskte kayıtlı olduğu biçim
+     *
+     *bu biçimde dosya yoksa diğer biçimlere bakılır (taşımadan okumak için)
+     *
+     * @param directory dosyanın dizini
+     * @param baseName uzantısız dosya adı
+     * @return dosyası bulunan biçim, hiçbiri yoksa bu biçim
+     */
+    public DataFormat existing(File directory, String baseName) {
+        if (file(directory, baseName).exists()) {
+            return this;
+        }
+        for (DataFormat other : values()) {
+            if (other.file(directory, baseName).exists()) {
+                return other;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return bu biçimde okuyup yazan dönüştürücü (iş parçacığı güvenli)
+     */
+    public synchronized ObjectMapper mapper() {
+        if (mapper == null) {
+            switch (this) {
+                case SMILE:
+                    mapper = new ObjectMapper(new SmileFactory());
+                    break;
+                case CBOR:
+                    mapper = new ObjectMapper(new CBORFactory());
+                    break;
+                default:
+                    mapper = new ObjectMapper();
+                    mapper.configure(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature(), false);
+                    break;
+            }
+            mapper.registerModule(new JavaTimeModule());
+            mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, isBinary());
+            mapper.configure(SerializationFeature.INDENT_OUTPUT, this == PRETTY_JSON);
+        }
+        return mapper;
+    }
+
+    public boolean isBinary() {
+        return this == SMILE || this == CBOR;
+    }
+
+    /**
+     *başka biçimde kayıtlı dosyayı bu biçime taşıma
+     *
+     *bu biçimde dosya varsa bir şey yapılmaz
+     *eski dosya .migrated uzantısıyla yedek olarak bırakılır
+     *
+     * @param directory dosyanın dizini
+     * @param baseName uzantısız dosya adı
+     * @param type dizideki kayıt türü
+     * @return taşıma yapıldıysa true
+     * @throws IOException dosya okunamaz veya yazılamazsa
+     */
+    public boolean migrate(File directory, String baseName, Class<?> type) throws IOException {
+        File target = file(directory, baseName);
+        if (target.exists()) {
+            return false;
+        }
+        for (DataFormat source : values()) {
+            File legacy = source.file(directory, baseName);
+            if (source.extension.equals(extension) || !legacy.exists()) {
+                continue;
+            }
+            List<?> items = legacy.length() > 0 ?
+                    source.mapper().readerForListOf(type).readValue(legacy) : List.of();
+            AtomicFiles.writeValue(target, mapper().writer(), items);
+            Files.move(legacy.toPath(), new File(legacy.getPath() + ".migrated").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        }
+        return false;
+    }
+}
@@ -1,74 +1,294 @@
 /**
- *veri depolama servisi
+ *veri depolama servisi (json)
  *
- *json formatında veri saklama:
+ *json (veya smile/cbor) formatında veri saklama:
  *personel bilgileri (employees.json)
- *giriş/çıkış kayıtları (time_entries.json)
+ *giriş/çıkış kayıtları (time_entries/YYYY-MM.json aylık dosyalar)
  *izin talepleri (leave_requests.json)
+ *değişiklik günlüğü (journal.log)
  *
  *özellikler:
- *thread-safe liste yapıları
+ *id -> kayıt hash indeksleri
+ *personel id -> tarihe göre sıralı kayıt indeksleri
+ *personel id -> açık (çıkışı yapılmamış) giriş kaydı indeksi
+ *değişiklik başına tek satır günlük kaydı
+ *kısa zaman penceresindeki değişiklikler için tek fsync (grup kaydı)
+ *isteğe bağlı arka planda yazma (write-behind) ve değişiklik birleştirme
+ *periyodik sıkıştırma ile anlık görüntü (yalnızca değişen dosyalar ve aylar)
+ *geçici dosya + fsync + atomik yeniden adlandırma ile dosya yazma
+ *disk işlemleri ayrı g/ç iş parçacığında (CompletableFuture api)
+ *açılışta personel dosyası hemen, diğer dosyalar arka planda paralel yüklenir
+ *isteğe bağlı tembel yükleme (koleksiyon ilk erişimde yüklenir)
  *otomatik dosya yedekleme
+ *kalıcı, artan personel id dizisi (blok blok diske işaretlenir)
  *utf-8 karakter desteği
+ *
+ *eşzamanlılık:
+ *listeler, indeksler ve değişen koleksiyon bilgisi okuma/yazma kilidiyle korunur
+ *değiştiren metodlar yazma kilidi altında bellekte uygular ve günlüğe sıraya koyar
+ *(disk yazması kilit dışında g/ç iş parçacığında)
+ *listeler kalıcı (yapı paylaşımlı) vektörlerdir: tüm kayıtları veya bir personelin
+ *kayıtlarını döndüren metodlar o anki sürümü kilitsiz ve kopyalamadan verir,
+ *sonraki değişiklikler bu sürümü etkilemez; id veya ay indeksine bakan
+ *okumalar okuma kilidi altında sonucu kopyalar
+ *kapatılan giriş kaydı yerinde değiştirilmez, yeni nesneyle değiştirilir,
+ *böylece okuyucunun elindeki kayıt yarım güncellenmiş görünmez
+ *yazma kuyruğu ayrı bir kilitle korunur; sıra: önce veri kilidi, sonra kuyruk kilidi
  */
 package com.semihtemiz.pms.service;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.semihtemiz.pms.model.Employee;
 import com.semihtemiz.pms.model.LeaveRequest;
 import com.semihtemiz.pms.model.TimeEntry;
 
-public class DataStorageService {
+public class DataStorageService implements StorageService {
     //veri dosyalarının konumu
     private static final String DATA_DIR = "data";
     
-    //json dosya yolları
-    private static final String EMPLOYEES_FILE = DATA_DIR + "/employees.json";
-    private static final String TIME_ENTRIES_FILE = DATA_DIR + "/time_entries.json";
-    private static final String LEAVE_REQUESTS_FILE = DATA_DIR + "/leave_requests.json";
+    //veri dosyalarının disk biçimi (-Dpms.format=pretty|json|smile|cbor)
+    private static final DataFormat FORMAT = DataFormat.configured();
+    
+    //veri dosyası yolları
+    private static final File EMPLOYEES_FILE = FORMAT.file(new File(DATA_DIR), "employees");
+    private static final String TIME_ENTRIES_DIR = DATA_DIR + "/time_entries";
+    private static final String LEGACY_TIME_ENTRIES_FILE = DATA_DIR + "/time_entries.json";
+    private static final File LEAVE_REQUESTS_FILE = FORMAT.file(new File(DATA_DIR), "leave_requests");
+    private static final String JOURNAL_FILE = DATA_DIR + "/journal.log";
+    private static final String SNAPSHOT_DIR = DATA_DIR + "/snapshots";
+    private static final File EMPLOYEE_ID_FILE = new File(DATA_DIR, "employee_id.seq");
+    
+    //günlük modu ayarları (-Dpms.journal=false ile tam yazmaya dönülür)
+    private static final boolean JOURNAL_ENABLED =
+            Boolean.parseBoolean(System.getProperty("pms.journal", "true"));
+    private static final int COMPACTION_THRESHOLD = Integer.getInteger("pms.journal.compactionThreshold", 1000);
+    
+    //grup kaydı penceresi (ms), bu sürede gelen değişiklikler tek fsync ile yazılır
+    private static final long GROUP_COMMIT_MILLIS = Long.getLong("pms.journal.groupCommitMillis", 10);
+    
+    //numaralı anlık görüntü aralığı (dakika, 0 ise yalnızca sıkıştırmada ve saveData'da) ve saklanan sayı
+    //günlük kapalıyken her değişiklik dosyaları yazar ama numaralı kopya almaz
+    private static final long SNAPSHOT_INTERVAL_MINUTES = Long.getLong("pms.snapshot.intervalMinutes", 10);
+    private static final int SNAPSHOT_RETAIN = Integer.getInteger("pms.snapshot.retain", 3);
+    
+    //arka planda yazma modu (-Dpms.writeBehind=true)
+    //değişiklikler bellekte hemen uygulanır, senkron metodlar diske yazmayı beklemez
+    private static final boolean WRITE_BEHIND = Boolean.getBoolean("pms.writeBehind");
+    private static final long FLUSH_INTERVAL_MILLIS = Long.getLong("pms.writeBehind.intervalMillis", 2000);
+    private static final int FLUSH_DIRTY_THRESHOLD = Integer.getInteger("pms.writeBehind.maxDirty", 200);
+    
+    //tembel yükleme modu (-Dpms.lazyLoad=true)
+    //giriş/çıkış kayıtları ve izin talepleri açılışta değil ilk erişimde yüklenir
+    private static final boolean LAZY_LOAD = Boolean.getBoolean("pms.lazyLoad");
+
+    //diske tek yazmayla ayrılan personel id sayısı
+    private static final long EMPLOYEE_ID_BLOCK = Math.max(1, Long.getLong("pms.employeeId.block", 100));
     
-    //json dönüşüm nesnesi
+    //günlük kayıtları için json dönüşüm nesnesi
     private final ObjectMapper objectMapper;
     
-    //thread-safe veri listeleri
-    private List<Employee> employees;
-    private List<TimeEntry> timeEntries;
-    private List<LeaveRequest> leaveRequests;
+    //veri dosyaları için seçili biçimdeki dönüşüm nesnesi
+    private final ObjectMapper fileMapper = FORMAT.mapper();
+    
+    //değişiklik günlüğü
+    private final ChangeJournal journal;
+    
+    //numaralı anlık görüntüler
+    private final SnapshotStore snapshotStore;
+    
+    //son verilen günlük sıra numarası ve son anlık görüntüye dahil sıra numarası
+    private long sequence;
+    private volatile long snapshotSequence;
+    
+    //bellekteki listeler, indeksler ve değişen koleksiyonlar için kilit
+    //okuyucular birbirini beklemez, değişiklikler tek tek uygulanır
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    //yazma kuyruğu kilidi (bekleyen kayıtlar, planlanmış yazma, kapanış)
+    //veri kilidi tutulurken alınabilir, tersi yapılmaz
+    private final Object commitLock = new Object();
+    
+    //tüm disk yazmalarını sırayla yürüten g/ç iş parçacığı
+    private final ScheduledExecutorService ioExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pms-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    //giriş/çıkış kayıtları ve izin taleplerini yükleyen iş parçacıkları
+    private final ExecutorService loadExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "pms-load");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    //id ile indekslenmiş veri listeleri
+    private final IndexedList<Employee> employees;
+    private final IndexedList<TimeEntry> timeEntries;
+    private final IndexedList<LeaveRequest> leaveRequests;
+    
+    //giriş/çıkış kayıtlarının aylık dosyaları
+    private final TimeEntrySegments segments;
+    
+    //personel id -> açık giriş kaydı
+    private final Map<String, TimeEntry> openEntries = new HashMap<>();
+    
+    //diske yazılmayı bekleyen (birleştirilmiş) kayıtlar ve bekleyen işlemler (commitLock)
+    private final PendingChanges pendingChanges = new PendingChanges();
+    private final List<CompletableFuture<Void>> pendingCommits = new ArrayList<>();
+    
+    //son anlık görüntüden bu yana değişen koleksiyonlar (yazma kilidi)
+    private final Set<DataCollection> dirtyCollections = EnumSet.noneOf(DataCollection.class);
+    
+    //planlanmış yazma (yoksa null)
+    private ScheduledFuture<?> scheduledFlush;
+    
+    //servis kapatıldı mı
+    private boolean closed;
+    
+    //dosyalara dokunmadan okuyan servis (bkz. readOnly)
+    private final boolean readOnly;
+    
+    //koleksiyon -> yükleme işlemi (başlamamışsa yok)
+    private final Map<DataCollection, CompletableFuture<Void>> loads = new EnumMap<>(DataCollection.class);
+    
+    //koleksiyon yüklenince uygulanacak günlük kayıtları
+    private final Map<DataCollection, List<JournalRecord>> deferredRecords = new EnumMap<>(DataCollection.class);
+    
+    //son verilen personel id (ilk kullanımda hazırlanır)
+    private final AtomicLong employeeIdSequence = new AtomicLong();
+    
+    //diske işaretlenmiş üst sınır: bu değere kadar id disk yazmadan verilir
+    private volatile long employeeIdLimit = -1;
+    private final Object employeeIdLock = new Object();
+    
+    //değişiklik dinleyicileri (yazma kilidi altında, değişiklik sırasıyla bildirilir)
+    private final StorageListeners listeners = new StorageListeners();
+    
+    //ay -> giriş zamanına göre sıralı kayıtları (sayfa sorguları için, ay değişince yenilenir)
+    private final Map<YearMonth, SortedMonth> sortedMonths = new ConcurrentHashMap<>();
+    
+    //sayfa sorgularının sırası: giriş zamanı (saniye), eşitlikte id
+    private static final Comparator<TimeEntry> CHECK_IN_ORDER =
+            Comparator.comparingLong(DataStorageService::checkInKey).thenComparing(TimeEntry::getId);
+    private static final Comparator<LeaveRequest> START_DATE_ORDER =
+            Comparator.comparingLong(DataStorageService::startDateKey).thenComparing(LeaveRequest::getId);
 
     /**
      *servis başlatma
      *
      *json dönüştürücü ayarlama
-     *thread-safe liste oluşturma
+     *indeksli liste oluşturma
      *veri dizini hazırlama
-     *mevcut verileri yükleme
+     *personel verilerini yükleme (giriş ekranı için yeterli)
+     *diğer verileri arka planda yüklemeye başlama (tembel modda ilk erişimde)
      */
     public DataStorageService() {
+        this(false);
+    }
+
+    /**
+     *dosyaları değiştirmeden okuyan servis (veritabanına aktarma için)
+     *
+     *kapanış kancası ve periyodik anlık görüntü yok; varsayılan dosyalar
+     *oluşturulmaz, başka biçimdeki ve eski düzendeki dosyalar taşınmadan okunur,
+     *günlük onarılmaz, bozuk dosya anlık görüntüden geri yüklenmez, hata verir
+     *değiştirme metodları IllegalStateException fırlatır
+     *
+     * @return salt okunur servis
+     * @throws StorageException bir dosya okunamazsa
+     */
+    static DataStorageService readOnly() {
+        return new DataStorageService(true);
+    }
+
+    private DataStorageService(boolean readOnly) {
+        this.readOnly = readOnly;
         //json dönüştürücü ayarları
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
         objectMapper.configure(com.fasterxml.jackson.core.json.JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature(), false);
         
-        //thread-safe liste başlatma
-        employees = new CopyOnWriteArrayList<>();
-        timeEntries = new CopyOnWriteArrayList<>();
-        leaveRequests = new CopyOnWriteArrayList<>();
+        //indeksli liste başlatma
+        employees = new IndexedList<>(Employee::getId);
+        timeEntries = new IndexedList<>(TimeEntry::getId, TimeEntry::getEmployeeId,
+                Comparator.comparingLong(TimeEntry::getCheckInEpochSecond));
+        leaveRequests = new IndexedList<>(LeaveRequest::getId, LeaveRequest::getEmployeeId,
+                Comparator.comparing(LeaveRequest::getStartDate, Comparator.nullsFirst(Comparator.naturalOrder())));
+        
+        journal = new ChangeJournal(new File(JOURNAL_FILE), objectMapper);
+        segments = new TimeEntrySegments(new File(TIME_ENTRIES_DIR), objectMapper, FORMAT);
+        snapshotStore = new SnapshotStore(new File(DATA_DIR), new File(SNAPSHOT_DIR), objectMapper, SNAPSHOT_RETAIN);
         
         //veri dizini ve dosya hazırlığı
-        initializeDataDirectory();
-        initializeData();
+        if (!readOnly) {
+            initializeDataDirectory();
+        }
+        loadCollection(EMPLOYEES_FILE, Employee.class, employees);
+        snapshotSequence = snapshotStore.latestSequence();
+        sequence = snapshotSequence;
+        replayJournal();
+        if (!LAZY_LOAD) {
+            load(DataCollection.TIME_ENTRIES);
+            load(DataCollection.LEAVE_REQUESTS);
+        }
+        
+        if (readOnly) {
+            return;
+        }
+        
+        //periyodik anlık görüntü
+        if (SNAPSHOT_INTERVAL_MINUTES > 0) {
+            ioExecutor.scheduleWithFixedDelay(this::periodicSnapshot,
+                    SNAPSHOT_INTERVAL_MINUTES, SNAPSHOT_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        }
+        
+        //uygulama kapanırken bekleyen yazmaları tamamla
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "pms-shutdown"));
     }
 
     /**
@@ -87,40 +307,24 @@ public class DataStorageService {
         }
         
         try {
+            //başka biçimde kayıtlı dosyaları seçili biçime taşı
+            FORMAT.migrate(dataDir, "employees", Employee.class);
+            FORMAT.migrate(dataDir, "leave_requests", LeaveRequest.class);
+            
             //utf-8 formatında boş dosyaları oluştur
-            File employeesFile = new File(EMPLOYEES_FILE);
-            File timeEntriesFile = new File(TIME_ENTRIES_FILE);
-            File leaveRequestsFile = new File(LEAVE_REQUESTS_FILE);
+            File employeesFile = EMPLOYEES_FILE;
+            File leaveRequestsFile = LEAVE_REQUESTS_FILE;
 
             if (!employeesFile.exists()) {
                 //varsayılan admin kullanıcısı
                 List<Employee> defaultEmployees = new ArrayList<>();
-                Employee admin = new Employee();
-                admin.setId("0");
-                admin.setUsername("admin");
-                admin.setPassword("admin");
-                admin.setFirstName("System");
-                admin.setLastName("Admin");
-                admin.setRole(Employee.UserRole.ADMIN);
-                admin.setDepartment("Yonetim");
-                admin.setPosition("Sistem Yoneticisi");
-                admin.setEmail("admin@company.com");
-                admin.setPhone("0000000000");
-                admin.setSalary(0.0);
-                admin.setStartDate(LocalDate.now());
-                admin.setVacationDays(0);
-                defaultEmployees.add(admin);
+                defaultEmployees.add(defaultAdmin());
                 
-                objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-                objectMapper.writeValue(employeesFile, defaultEmployees);
-            }
-
-            if (!timeEntriesFile.exists()) {
-                objectMapper.writeValue(timeEntriesFile, new ArrayList<>());
+                AtomicFiles.writeValue(employeesFile, fileMapper.writer(), defaultEmployees);
             }
 
             if (!leaveRequestsFile.exists()) {
-                objectMapper.writeValue(leaveRequestsFile, new ArrayList<>());
+                AtomicFiles.writeValue(leaveRequestsFile, fileMapper.writer(), new ArrayList<>());
             }
         } catch (IOException e) {
             System.err.println("veri dosyaları oluşturulamadı: " + e.getMessage());
@@ -128,285 +332,1891 @@ public class DataStorageService {
     }
 
     /**
-     *verileri dosyadan yükleme
+     *koleksiyonun yüklenmesini başlatma
+     *
+     *her koleksiyon kendi iş parçacığında bir kez yüklenir,
+     *normal modda ikisi açılışta paralel başlar,
+     *tembel modda ilk erişim yüklemeyi başlatır
      *
-     *json dosyalarını okuma
-     *listelere aktarma
-     *hata durumunda boş liste oluşturma
+     *yükleme bitene kadar listeye kimse dokunmaz,
+     *ilgili tüm metodlar önce awaitLoaded() çağırır
+     *
+     * @param collection giriş/çıkış kayıtları veya izin talepleri
+     * @return yükleme bitince tamamlanan future
      */
-    private void initializeData() {
-        try {
-            File employeesFile = new File(EMPLOYEES_FILE);
-            File timeEntriesFile = new File(TIME_ENTRIES_FILE);
-            File leaveRequestsFile = new File(LEAVE_REQUESTS_FILE);
+    private CompletableFuture<Void> load(DataCollection collection) {
+        synchronized (loads) {
+            return loads.computeIfAbsent(collection,
+                    key -> CompletableFuture.runAsync(() -> loadDeferred(key), loadExecutor));
+        }
+    }
 
-            if (employeesFile.exists() && employeesFile.length() > 0) {
-                employees = new ArrayList<>(List.of(objectMapper.readValue(employeesFile, Employee[].class)));
-            }
+    /**
+     *ertelenmiş koleksiyonu yükleme
+     *
+     *dosyayı okuma
+     *bu koleksiyona ait günlük kayıtlarını uygulama
+     *giriş/çıkış kayıtları için açık giriş indeksini kurma
+     */
+    private void loadDeferred(DataCollection collection) {
+        if (collection == DataCollection.TIME_ENTRIES) {
+            loadTimeEntries();
+        } else {
+            loadCollection(LEAVE_REQUESTS_FILE, LeaveRequest.class, leaveRequests);
+        }
 
-            if (timeEntriesFile.exists() && timeEntriesFile.length() > 0) {
-                timeEntries = new ArrayList<>(List.of(objectMapper.readValue(timeEntriesFile, TimeEntry[].class)));
-            }
+        List<JournalRecord> records = deferredRecords.get(collection);
+        if (records != null) {
+            records.forEach(this::applyRecord);
+            records.clear();
+        }
+
+        if (collection == DataCollection.TIME_ENTRIES) {
+            rebuildOpenEntries();
+        }
+    }
 
-            if (leaveRequestsFile.exists() && leaveRequestsFile.length() > 0) {
-                leaveRequests = new ArrayList<>(List.of(objectMapper.readValue(leaveRequestsFile, LeaveRequest[].class)));
+    /**
+     *giriş/çıkış kayıtlarının açılışta gereken aylarını yükleme
+     *
+     *eski tek dosyalık düzen varsa aylık dosyalara taşınır
+     *içinde bulunulan ay ve açık kayıt içeren aylar yüklenir,
+     *diğer aylar ilk ihtiyaç duyulduğunda yüklenir
+     *
+     * @throws StorageException eski dosya taşınamazsa (koleksiyon yüklenmemiş sayılır)
+     */
+    private void loadTimeEntries() {
+        if (readOnly) {
+            try {
+                segments.openReadOnly();
+                if (!new File(TIME_ENTRIES_DIR).exists()) {
+                    segments.readLegacy(new File(LEGACY_TIME_ENTRIES_FILE),
+                            entry -> addLoaded(TimeEntrySegments.monthOf(entry), entry));
+                }
+            } catch (IOException e) {
+                throw new StorageException("giriş/çıkış kayıtları okunamadı: " + e.getMessage(), e);
             }
+        } else {
+            migrateTimeEntries();
+        }
+        for (YearMonth month : segments.startupMonths(YearMonth.now())) {
+            loadMonth(month);
+        }
+    }
+
+    private void migrateTimeEntries() {
+        try {
+            segments.migrate(new File(LEGACY_TIME_ENTRIES_FILE));
         } catch (IOException e) {
-            System.err.println("veri yüklenirken hata oluştu: " + e.getMessage());
-            //hata durumunda boş liste oluştur
-            employees = new ArrayList<>();
-            timeEntries = new ArrayList<>();
-            leaveRequests = new ArrayList<>();
+            //aylık dizin oluşturulursa sonraki açılış taşımayı atlar, eski kayıtlar kaybolur
+            throw new StorageException("giriş/çıkış kayıtları aylık dosyalara taşınamadı: " + e.getMessage(), e);
+        }
+        try {
+            segments.open();
+        } catch (IOException e) {
+            System.err.println("giriş/çıkış dosyaları açılamadı: " + e.getMessage());
         }
     }
 
     /**
-     *verileri dosyaya kaydetme
+     *bir ayın kayıtlarını belleğe yükleme
      *
-     *dizin kontrolü
-     *json formatında yazma
-     *hata durumunda log kaydetme
+     *ay zaten yüklüyse bir şey yapılmaz
+     *bellekte zaten olan kayıt (ör. günlükten gelen daha yeni sürüm
+     *veya başka aya taşınmış kaydın eski kopyası) atlanır ve ay yeniden
+     *yazılmak üzere işaretlenir
+     *
+     *yükleme sırasında yükleme iş parçacığında,
+     *sonrasında yazma kilidi altında çağrılır
+     *
+     * @param month yüklenecek ay
      */
-    public void saveData() {
+    private void loadMonth(YearMonth month) {
+        if (segments.isLoaded(month)) {
+            return;
+        }
         try {
-            //dizin kontrolü
-            new File(DATA_DIR).mkdirs();
-            
-            //json formatında kaydet
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-            objectMapper.writeValue(new File(EMPLOYEES_FILE), employees);
-            objectMapper.writeValue(new File(TIME_ENTRIES_FILE), timeEntries);
-            objectMapper.writeValue(new File(LEAVE_REQUESTS_FILE), leaveRequests);
+            readMonth(month);
         } catch (IOException e) {
-            System.err.println("veri kaydedilirken hata oluştu: " + e.getMessage());
+            if (readOnly) {
+                throw new StorageException("veri okunamadı (" + month + "): " + e.getMessage(), e);
+            }
+            System.err.println("veri yüklenirken hata oluştu (" + month + "): " + e.getMessage());
+            //bozuk dosya anlık görüntüden geri yüklenip tekrar okunur
+            if (snapshotStore.restore(segments.fileOf(month))) {
+                segments.replaced(month);
+                try {
+                    readMonth(month);
+                } catch (IOException retry) {
+                    System.err.println("geri yüklenen dosya okunamadı (" + month + "): " + retry.getMessage());
+                }
+            }
+        }
+    }
+
+    private void readMonth(YearMonth month) throws IOException {
+        segments.load(month, entry -> addLoaded(month, entry));
+    }
+
+    private void addLoaded(YearMonth month, TimeEntry entry) {
+        if (timeEntries.get(entry.getId()) != null) {
+            segments.markDirty(month);
+            return;
+        }
+        timeEntries.add(entry);
+        segments.track(entry, false);
+        if (entry.getCheckOut() == null) {
+            openEntries.putIfAbsent(entry.getEmployeeId(), entry);
+        }
+    }
+
+    private void loadAllMonths() {
+        for (YearMonth month : new ArrayList<>(segments.months())) {
+            loadMonth(month);
         }
     }
 
     /**
-     *yeni personel ekleme
+     *tarih aralığıyla kesişen ayları belleğe yükleme
      *
-     * @param employee eklenecek personel
+     *yalnızca bu aylar okunur, kapanmış aylar bir kez yüklendikten
+     *sonra bellekte kalır
      */
-    public void addEmployee(Employee employee) {
-        employees.add(employee);
-        saveData();
+    private void ensureMonths(LocalDate startDate, LocalDate endDate) {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        YearMonth from = YearMonth.from(startDate);
+        YearMonth to = YearMonth.from(endDate);
+        //çoğu zaman aylar yüklüdür, yazma kilidi yalnızca okuma gerekirse alınır
+        boolean loaded = read(() -> segments.months(from, to).stream().allMatch(segments::isLoaded));
+        if (!loaded) {
+            write(() -> {
+                for (YearMonth month : segments.months(from, to)) {
+                    loadMonth(month);
+                }
+                return null;
+            });
+        }
     }
 
     /**
-     *personel bilgilerini güncelleme
+     *tüm ayları belleğe yükleme
      *
-     * @param employee güncellenecek personel (id değişmez)
+     *personelin tüm geçmişi veya tüm kayıtlar istendiğinde
      */
-    public void updateEmployee(Employee employee) {
-        for (int i = 0; i < employees.size(); i++) {
-            if (employees.get(i).getId().equals(employee.getId())) {
-                employees.set(i, employee);
-                break;
-            }
+    private void ensureAllMonths() {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        boolean loaded = read(() -> segments.months().stream().allMatch(segments::isLoaded));
+        if (!loaded) {
+            write(() -> {
+                loadAllMonths();
+                return null;
+            });
         }
-        saveData();
     }
 
     /**
-     *personel ve ilişkili verileri silme
+     *okuma kilidi altında çalıştırma
      *
-     *personel bilgileri
-     *giriş/çıkış kayıtları
-     *izin talepleri
+     *kilit yükseltilemez; gerekli aylar önceden ensureMonths ile yüklenmeli
      *
-     * @param employeeId silinecek personel id
+     * @param reader sonucu kopyalayan işlem (paylaşılan liste döndürmemeli)
+     * @return işlem sonucu
      */
-    public void deleteEmployee(String employeeId) {
-        //personeli sil
-        employees.removeIf(e -> e.getId().equals(employeeId));
-        
-        //giriş/çıkış kayıtlarını sil
-        timeEntries.removeIf(entry -> entry.getEmployeeId().equals(employeeId));
-        
-        //izin taleplerini sil
-        leaveRequests.removeIf(request -> request.getEmployeeId().equals(employeeId));
-        
-        //değişiklikleri kaydet
-        saveData();
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
-     *tüm personel listesini getirme
+     *yazma kilidi altında çalıştırma
+     *
+     *servis kapandıysa sıraya konan kayıtlar kilit bırakıldıktan sonra yazılır
      *
-     * @return personel listesi
+     * @param writer bellekteki değişiklik (ve günlüğe sıraya koyma)
+     * @return işlem sonucu
      */
-    public List<Employee> getAllEmployees() {
-        return new ArrayList<>(employees);
+    private <T> T write(Supplier<T> writer) {
+        T result;
+        lock.writeLock().lock();
+        try {
+            result = writer.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commitIfClosed();
+        return result;
     }
 
     /**
-     *id ile personel bulma
+     *kapanış sonrası değişiklikleri hemen yazma
      *
-     * @param id personel id
-     * @return bulunan personel veya null
+     *g/ç iş parçacığı durduğundan yazma çağıran iş parçacığında yapılır;
+     *yazma kilidi tutulurken çağrılmamalı (okuyucular diski beklemez)
      */
-    public Employee getEmployeeById(String id) {
-        return employees.stream()
-                .filter(e -> e.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+    private void commitIfClosed() {
+        synchronized (commitLock) {
+            if (!closed || pendingCommits.isEmpty()) {
+                return;
+            }
+        }
+        groupCommit();
     }
 
     /**
-     *kullanıcı adı ile personel bulma
+     * @return ilk açılışta oluşturulan yönetici hesabı
+     */
+    static Employee defaultAdmin() {
+        Employee admin = new Employee();
+        admin.setId("0");
+        admin.setUsername("admin");
+        admin.setPassword("admin");
+        admin.setFirstName("System");
+        admin.setLastName("Admin");
+        admin.setRole(Employee.UserRole.ADMIN);
+        admin.setDepartment("Yonetim");
+        admin.setPosition("Sistem Yoneticisi");
+        admin.setEmail("admin@company.com");
+        admin.setPhone("0000000000");
+        admin.setSalary(0.0);
+        admin.setStartDate(LocalDate.now());
+        admin.setVacationDays(0);
+        return admin;
+    }
+
+    /**
+     *tek bir veri dosyasını yükleme
      *
-     * @param username kullanıcı adı
-     * @return bulunan personel veya null
+     *okunamayan dosya son geçerli anlık görüntüden geri yüklenir,
+     *o da olmazsa koleksiyon boş bırakılır
+     *
+     * @param file okunacak dosya
+     * @param type kayıt türü
+     * @param target kayıtların ekleneceği liste
      */
-    public Employee getEmployeeByUsername(String username) {
-        return employees.stream()
-                .filter(e -> e.getUsername().equals(username))
-                .findFirst()
-                .orElse(null);
+    private <T> void loadCollection(File file, Class<T> type, IndexedList<T> target) {
+        ObjectReader reader = fileMapper.readerFor(type);
+        if (readOnly) {
+            //başka biçimdeki dosya taşınmadan okunur
+            String baseName = file.getName().substring(0, file.getName().lastIndexOf('.'));
+            DataFormat source = FORMAT.existing(file.getParentFile(), baseName);
+            file = source.file(file.getParentFile(), baseName);
+            reader = source.mapper().readerFor(type);
+        }
+        if (!file.exists() || file.length() == 0) {
+            return;
+        }
+        try {
+            readCollection(file, reader, target);
+        } catch (IOException e) {
+            if (readOnly) {
+                throw new StorageException("veri okunamadı (" + file.getName() + "): " + e.getMessage(), e);
+            }
+            System.err.println("veri yüklenirken hata oluştu (" + file.getName() + "): " + e.getMessage());
+            //hata durumunda boş liste oluştur
+            target.clear();
+            //bozuk dosya anlık görüntüden geri yüklenip tekrar okunur
+            if (snapshotStore.restore(file)) {
+                try {
+                    readCollection(file, fileMapper.readerFor(type), target);
+                } catch (IOException retry) {
+                    System.err.println("geri yüklenen dosya okunamadı (" + file.getName() + "): " + retry.getMessage());
+                    target.clear();
+                }
+            }
+        }
     }
 
-    
     /**
-     *yeni giriş/çıkış kaydı ekleme
+     *giriş/çıkış kayıtları ve izin taleplerinin yüklenmesi
      *
-     * @param timeEntry eklenecek kayıt
+     * @return yükleme bitince tamamlanan future
      */
-    public void addTimeEntry(TimeEntry timeEntry) {
-        timeEntries.add(timeEntry);
-        saveData();
+    public CompletableFuture<Void> whenLoaded() {
+        return CompletableFuture.allOf(whenLoaded(DataCollection.TIME_ENTRIES),
+                whenLoaded(DataCollection.LEAVE_REQUESTS));
     }
 
     /**
-     *giriş/çıkış kaydını güncelleme
+     *tek koleksiyonun yüklenmesi
      *
-     * @param timeEntry güncellenecek kayıt
+     *tembel modda yüklemeyi başlatır
+     *
+     * @param collection beklenecek koleksiyon
+     * @return yükleme bitince tamamlanan future (personel bilgileri için hemen)
      */
-    public void updateTimeEntry(TimeEntry timeEntry) {
-        for (int i = 0; i < timeEntries.size(); i++) {
-            if (timeEntries.get(i).getId().equals(timeEntry.getId())) {
-                timeEntries.set(i, timeEntry);
-                break;
+    public CompletableFuture<Void> whenLoaded(DataCollection collection) {
+        if (collection == DataCollection.EMPLOYEES) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return load(collection);
+    }
+
+    /**
+     *koleksiyonun yüklenmesini bekleme
+     *
+     *giriş/çıkış kayıtları, izin talepleri veya açık giriş
+     *indeksine dokunan her metodun başında çağrılır
+     *
+     * @param collections gereken koleksiyonlar
+     * @throws StorageException koleksiyon yüklenemediyse
+     */
+    private void awaitLoaded(DataCollection... collections) {
+        for (DataCollection collection : collections) {
+            if (collection == DataCollection.EMPLOYEES) {
+                continue;
             }
+            //başarısız yükleme her çağrıda hatasıyla bildirilir
+            await(load(collection));
         }
-        saveData();
     }
 
     /**
-     *personelin giriş/çıkış kayıtlarını getirme
+     *json dizisini akış halinde okuma
      *
-     * @param employeeId personel id
-     * @return giriş/çıkış kayıtları listesi
+     *ara dizi veya ağaç oluşturulmaz, her nesne okunduğu anda
+     *listeye ve indekslere eklenir (bellek kullanımı dosya boyutuyla doğrusal)
+     *
+     * @param file okunacak dosya
+     * @param reader kayıt türü için okuyucu (tüm dosya boyunca tekrar kullanılır)
+     * @param target kayıtların ekleneceği liste
+     * @throws IOException dosya okunamazsa veya json dizisi değilse
      */
-    public List<TimeEntry> getTimeEntriesByEmployeeId(String employeeId) {
-        List<TimeEntry> employeeEntries = new ArrayList<>();
-        for (TimeEntry entry : timeEntries) {
-            if (entry.getEmployeeId().equals(employeeId)) {
-                employeeEntries.add(entry);
+    private <T> void readCollection(File file, ObjectReader reader, IndexedList<T> target) throws IOException {
+        try (JsonParser parser = fileMapper.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("json dizisi bekleniyor: " + file.getName());
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                T item = reader.readValue(parser);
+                target.add(item);
             }
         }
-        return employeeEntries;
     }
 
     /**
-     *tüm giriş/çıkış kayıtlarını getirme
+     *günlük kuyruğunu anlık görüntü üzerine oynatma
      *
-     * @return giriş/çıkış kayıtları listesi
+     *kayıtlar id bazlı olduğundan tekrar oynatma zararsızdır
+     *(anlık görüntü yazılıp günlük boşaltılamadan çökme durumu)
+     *personel kayıtları hemen uygulanır, diğerleri ilgili
+     *koleksiyon yüklenince uygulanmak üzere sıralı olarak saklanır
+     *
+     * @throws StorageException günlük okunamazsa ya da bozuksa
      */
-    public List<TimeEntry> getAllTimeEntries() {
-        return new ArrayList<>(timeEntries);
+    private void replayJournal() {
+        try {
+            int[] skipped = {0};
+            int replayed = journal.replay(record -> {
+                //anlık görüntüye dahil kayıt (günlük boşaltılamadan çökülmüş)
+                if (record.getSequence() > 0 && record.getSequence() <= snapshotSequence) {
+                    skipped[0]++;
+                    return;
+                }
+                sequence = Math.max(sequence, record.getSequence());
+                
+                //günlükteki değişiklik henüz dosyada yok
+                dirtyCollections.add(record.getCollection());
+                if (record.getCollection() == DataCollection.EMPLOYEES) {
+                    applyRecord(record);
+                } else {
+                    deferredRecords.computeIfAbsent(record.getCollection(), key -> new ArrayList<>()).add(record);
+                }
+            }, !readOnly);
+            if (replayed > skipped[0]) {
+                System.out.println("günlükten " + (replayed - skipped[0]) + " değişiklik yüklendi");
+            }
+        } catch (IOException e) {
+            //günlük atlanıp devam edilirse sonraki anlık görüntü kayıtları siler
+            throw new StorageException("günlük okunamadı: " + e.getMessage(), e);
+        }
     }
 
     /**
-     *tüm giriş/çıkış kayıtlarını silme
+     *açık giriş kayıtları indeksini kurma
+     *
+     *yükleme ve günlük oynatma sonrası tek geçiş
      */
-    public void clearTimeEntries() {
-        timeEntries.clear();
-        saveData();
+    private void rebuildOpenEntries() {
+        openEntries.clear();
+        for (TimeEntry entry : timeEntries) {
+            if (entry.getCheckOut() == null) {
+                openEntries.put(entry.getEmployeeId(), entry);
+            }
+        }
     }
-    
+
     /**
-     *yeni izin talebi ekleme
+     *günlük kaydını bellekteki listeye uygulama
      *
-     * @param request eklenecek talep
+     * @param record uygulanacak kayıt
      */
-    public void addLeaveRequest(LeaveRequest request) {
-        leaveRequests.add(request);
-        saveData();
+    private void applyRecord(JournalRecord record) {
+        try {
+            switch (record.getCollection()) {
+                case EMPLOYEES:
+                    applyRecord(record, employees, Employee.class);
+                    break;
+                case TIME_ENTRIES:
+                    applyTimeEntryRecord(record);
+                    break;
+                case LEAVE_REQUESTS:
+                    applyRecord(record, leaveRequests, LeaveRequest.class);
+                    break;
+            }
+        } catch (JsonProcessingException e) {
+            System.err.println("günlük kaydı uygulanamadı: " + e.getOriginalMessage());
+        }
     }
 
     /**
-     *izin talebini güncelleme
+     *giriş/çıkış günlük kaydını uygulama
      *
-     * @param request güncellenecek talep
+     *ekleme/güncelleme yalnızca kaydın ayını yükler,
+     *silme ve temizleme için tüm aylar yüklenir
      */
-    public void updateLeaveRequest(LeaveRequest request) {
-        for (int i = 0; i < leaveRequests.size(); i++) {
-            if (leaveRequests.get(i).getId().equals(request.getId())) {
-                leaveRequests.set(i, request);
+    private void applyTimeEntryRecord(JournalRecord record) throws JsonProcessingException {
+        switch (record.getOp()) {
+            case UPSERT:
+                TimeEntry entry = objectMapper.treeToValue(record.getData(), TimeEntry.class);
+                loadMonth(TimeEntrySegments.monthOf(entry));
+                timeEntries.add(entry);
+                segments.track(entry, true);
+                break;
+            case DELETE:
+                loadAllMonths();
+                timeEntries.remove(record.getKey());
+                segments.untrack(record.getKey());
+                break;
+            case DELETE_BY_EMPLOYEE:
+                loadAllMonths();
+                removeTimeEntriesOf(record.getKey());
+                break;
+            case CLEAR:
+                timeEntries.clear();
+                segments.clear();
+                break;
+        }
+    }
+
+    private void removeTimeEntriesOf(String employeeId) {
+        for (TimeEntry entry : timeEntries.getGroup(employeeId)) {
+            segments.untrack(entry.getId());
+        }
+        timeEntries.removeGroup(employeeId);
+    }
+
+    private <T> void applyRecord(JournalRecord record, IndexedList<T> list, Class<T> type)
+            throws JsonProcessingException {
+        switch (record.getOp()) {
+            case UPSERT:
+                list.add(objectMapper.treeToValue(record.getData(), type));
+                break;
+            case DELETE:
+                list.remove(record.getKey());
+                break;
+            case DELETE_BY_EMPLOYEE:
+                list.removeGroup(record.getKey());
+                break;
+            case CLEAR:
+                list.clear();
                 break;
-            }
         }
-        saveData();
     }
 
     /**
-     *personelin izin taleplerini getirme
+     *değişikliği kalıcı hale getirme
      *
-     * @param employeeId personel id
-     * @return izin talepleri listesi
+     *kayıtlar yazma kuyruğuna eklenir, çağıran beklemez
+     *aynı kayda ait bekleyen değişiklikler birleştirilir
+     *normal modda grup kaydı penceresi sonunda,
+     *arka planda yazma modunda aralık dolunca veya bekleyen kayıt sayısı
+     *eşiği aşınca g/ç iş parçacığında tek yazma ve tek fsync yapılır
+     *
+     *bellekteki değişiklikle aynı yazma kilidi altında çağrılmalı,
+     *böylece günlük sırası bellek sırasıyla aynı kalır
+     *servis kapandıysa yazma planlanmaz, kilit bırakılınca commitIfClosed yazar
+     *
+     * @param records günlüğe yazılacak kayıtlar
+     * @return kayıtlar diske yazılınca tamamlanan future
      */
-    public List<LeaveRequest> getLeaveRequestsByEmployeeId(String employeeId) {
-        return leaveRequests.stream()
-                .filter(r -> r.getEmployeeId().equals(employeeId))
-                .collect(Collectors.toList());
+    private CompletableFuture<Void> persist(JournalRecord... records) {
+        checkWritable();
+        CompletableFuture<Void> commit = new CompletableFuture<>();
+        synchronized (commitLock) {
+            for (JournalRecord record : records) {
+                record.setSequence(++sequence);
+                pendingChanges.add(record);
+                dirtyCollections.add(record.getCollection());
+            }
+            pendingCommits.add(commit);
+
+            if (closed) {
+                //kapanış sonrası değişiklik yazma kilidi bırakılınca yazılır
+            } else if (WRITE_BEHIND && pendingChanges.size() >= FLUSH_DIRTY_THRESHOLD) {
+                scheduleFlush(0);
+            } else if (scheduledFlush == null) {
+                scheduleFlush(WRITE_BEHIND ? FLUSH_INTERVAL_MILLIS : GROUP_COMMIT_MILLIS);
+            }
+        }
+        return commit;
     }
 
     /**
-     *bekleyen izin taleplerini getirme
+     *salt okunur serviste yazmayı reddetme
      *
-     * @return bekleyen izin talepleri listesi
+     * @throws IllegalStateException servis salt okunursa
      */
-    public List<LeaveRequest> getPendingLeaveRequests() {
-        return leaveRequests.stream()
-                .filter(r -> r.getStatus() == LeaveRequest.LeaveStatus.PENDING)
-                .collect(Collectors.toList());
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("salt okunur servis değiştirilemez");
+        }
     }
 
     /**
-     *tüm izin taleplerini getirme
+     *bekleyen yazmayı planlama
      *
-     * @return izin talepleri listesi
+     *daha erken planlanmış yazma varsa ona dokunulmaz
+     *kuyruk kilidi altında çağrılır
      */
-    public List<LeaveRequest> getAllLeaveRequests() {
-        return new ArrayList<>(leaveRequests);
+    private void scheduleFlush(long delayMillis) {
+        if (scheduledFlush != null) {
+            if (scheduledFlush.getDelay(TimeUnit.MILLISECONDS) <= delayMillis) {
+                return;
+            }
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = ioExecutor.schedule(this::groupCommit, delayMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
-     *kullanılan izin günlerini hesaplama
+     *bekleyen değişiklikleri hemen diske yazma
      *
-     * @param employeeId personel id
-     * @param year hesaplanacak yıl
-     * @return kullanılan izin günü sayısı
+     *oturum kapatma ve uygulama kapanışında çağrılır
+     *
+     * @return bekleyen tüm değişiklikler yazılınca tamamlanan future
      */
-    public int getUsedLeaveDays(String employeeId, int year) {
-        return leaveRequests.stream()
-                .filter(r -> r.getEmployeeId().equals(employeeId) &&
-                        r.getStatus() == LeaveRequest.LeaveStatus.APPROVED &&
-                        r.getStartDate().getYear() == year)
-                .mapToInt(LeaveRequest::getDurationInDays)
-                .sum();
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<Void> flushed;
+        synchronized (commitLock) {
+            if (pendingCommits.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            flushed = CompletableFuture.allOf(pendingCommits.toArray(new CompletableFuture<?>[0]));
+            if (!closed) {
+                scheduleFlush(0);
+                return flushed;
+            }
+        }
+        groupCommit();
+        return flushed;
     }
 
     /**
-     *tarih aralığındaki izin taleplerini getirme
+     *bekleyen kayıtları topluca yazma (grup kaydı)
      *
-     * @param startDate başlangıç tarihi
-     * @param endDate bitiş tarihi
-     * @return izin talepleri listesi
+     *günlük modunda tek ekleme + tek fsync
+     *eşik aşılınca sıkıştırma (tam anlık görüntü)
+     *günlük kapalıysa tam yazma
+     *bekleyen tüm işlemler aynı sonuçla tamamlanır
+     *
+     *kuyruk kilidi yalnızca kuyruğu boşaltırken tutulur
+     *(sıkıştırma veri kilidini alır, kilit sırası bozulmaz)
      */
-    public List<LeaveRequest> getLeaveRequestsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return leaveRequests.stream()
-                .filter(r -> !r.getStartDate().isAfter(endDate) && !r.getEndDate().isBefore(startDate))
-                .collect(Collectors.toList());
+    private void groupCommit() {
+        List<JournalRecord> records;
+        List<CompletableFuture<Void>> commits;
+        synchronized (commitLock) {
+            records = pendingChanges.drain();
+            commits = new ArrayList<>(pendingCommits);
+            pendingCommits.clear();
+            scheduledFlush = null;
+        }
+        if (commits.isEmpty()) {
+            return;
+        }
+
+        try {
+            writeRecords(records);
+            commits.forEach(commit -> commit.complete(null));
+        } catch (IOException e) {
+            System.err.println("veri kaydedilirken hata oluştu: " + e.getMessage());
+            UncheckedIOException failure = new UncheckedIOException(e);
+            commits.forEach(commit -> commit.completeExceptionally(failure));
+        }
+    }
+
+    private void writeRecords(List<JournalRecord> records) throws IOException {
+        //her değişiklikte yapılan tam yazma numaralı kopya almaz (her seferinde tüm dosyalar kopyalanırdı)
+        if (!JOURNAL_ENABLED) {
+            writeSnapshot(false);
+            return;
+        }
+        try {
+            journal.append(records);
+        } catch (IOException e) {
+            System.err.println("günlüğe yazılamadı, tam kayıt yapılıyor: " + e.getMessage());
+            writeSnapshot(false);
+            return;
+        }
+        //kayıtlar günlükte kalıcı, sıkıştırma hatası yazmayı başarısız kılmaz
+        if (journal.size() >= COMPACTION_THRESHOLD) {
+            try {
+                writeSnapshot(true);
+            } catch (IOException e) {
+                System.err.println("günlük sıkıştırılamadı: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     *asenkron yazmanın bitmesini bekleme
+     *
+     * @param future beklenecek işlem
+     * @return işlem sonucu
+     * @throws UncheckedIOException veri diske yazılamazsa
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     *senkron metodlarda yazmanın bitmesini bekleme
+     *
+     *arka planda yazma modunda beklenmez, hatalar loglanır
+     *
+     * @param saved yazma işlemi
+     */
+    private static void commit(CompletableFuture<Void> saved) {
+        if (!WRITE_BEHIND) {
+            await(saved);
+        }
+    }
+
+    private JournalRecord upsertRecord(DataCollection collection, String id, Object value) {
+        return new JournalRecord(JournalRecord.Op.UPSERT, collection, id, objectMapper.valueToTree(value));
+    }
+
+    /**
+     *verileri dosyaya kaydetme (sıkıştırma)
+     *
+     *yalnızca değişen koleksiyonların dosyaları yazılır
+     *
+     *g/ç iş parçacığında (kapanıştan sonra bu iş parçacığında) yazılır ve beklenir
+     *hata durumunda log kaydetme
+     */
+    public void saveData() {
+        try {
+            saveDataAsync().join();
+        } catch (CompletionException e) {
+            //hata g/ç iş parçacığında loglandı
+        }
+    }
+
+    /**
+     *verileri dosyaya kaydetme (asenkron)
+     *
+     *servis kapandıktan sonra g/ç iş parçacığı olmadığından
+     *anlık görüntü çağıran iş parçacığında yazılır
+     *
+     * @return anlık görüntü yazılınca tamamlanan future
+     */
+    public CompletableFuture<Void> saveDataAsync() {
+        Runnable snapshot = () -> {
+            try {
+                writeSnapshot(true);
+            } catch (IOException e) {
+                System.err.println("veri kaydedilirken hata oluştu: " + e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+        };
+        synchronized (commitLock) {
+            //kapanış, kuyruk kilidi alınmadan g/ç iş parçacığını durdurmaz
+            if (!closed) {
+                return CompletableFuture.runAsync(snapshot, ioExecutor);
+            }
+        }
+        try {
+            snapshot.run();
+            return CompletableFuture.completedFuture(null);
+        } catch (UncheckedIOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     *anlık görüntü yazma
+     *
+     *yalnızca son anlık görüntüden bu yana değişen koleksiyonların
+     *dosyaları yazılır (ör. izin talebi time_entries.json dosyasına dokunmaz)
+     *listeler yazma kilidi altında kopyalanır (koleksiyonların değişen bilgisi
+     *sıfırlanır; ayların değişmiş işareti ise ay dosyası yazılınca kalkar),
+     *diske yazma kilit dışında yapılır, okuyucular bu sırada beklemez
+     *dizin kontrolü
+     *her dosya geçici dosyaya yazılıp atomik olarak değiştirilir
+     *günlük ancak tüm dosyalar yerine geçtikten sonra boşaltılır;
+     *arada çökülürse günlük id bazlı olduğundan yeniden oynatılarak
+     *dosyalar tutarlı hale gelir
+     *eski tek dosyalık giriş/çıkış kayıtları taşınamadıysa hiçbir şey yazılmaz
+     *
+     *numaralı kopya (geri yükleme noktası) yalnızca sıkıştırmada, periyodik
+     *zamanlayıcıda ve saveData'da alınır; günlük kapalıyken her değişiklikte
+     *yapılan yazma kopya almaz, zamanlayıcı sonraki turda alır
+     *
+     * @param numbered numaralı anlık görüntü oluşturulsun mu
+     */
+    private void writeSnapshot(boolean numbered) throws IOException {
+        checkWritable();
+        if (new File(LEGACY_TIME_ENTRIES_FILE).exists()) {
+            //taşıma yüklemeyle yapılır, bitmesi beklenir
+            try {
+                awaitLoaded(DataCollection.TIME_ENTRIES);
+            } catch (StorageException e) {
+                throw new IOException("anlık görüntü yazılmadı: " + e.getMessage(), e);
+            }
+        }
+        Map<DataCollection, List<?>> snapshots = new EnumMap<>(DataCollection.class);
+        Map<YearMonth, List<TimeEntry>> monthSnapshots = new TreeMap<>();
+        Map<YearMonth, Long> monthDirtyCounts = new TreeMap<>();
+        Set<YearMonth> openMonths = null;
+        long snapshotAt;
+        lock.writeLock().lock();
+        try {
+            snapshotAt = sequence;
+            for (DataCollection collection : dirtyCollections) {
+                awaitLoaded(collection);
+                if (collection == DataCollection.TIME_ENTRIES) {
+                    //giriş/çıkış kayıtlarında yalnızca değişen aylar
+                    //(ay dosyası yazılana kadar değişmiş kalır, raporlar eski sütunlu kopyayı kullanmaz)
+                    monthDirtyCounts = segments.dirtyMonths();
+                    for (YearMonth month : monthDirtyCounts.keySet()) {
+                        List<TimeEntry> entries = new ArrayList<>();
+                        for (String id : segments.idsOf(month)) {
+                            entries.add(timeEntries.get(id));
+                        }
+                        monthSnapshots.put(month, entries);
+                    }
+                    openMonths = new TreeSet<>();
+                    for (TimeEntry entry : openEntries.values()) {
+                        openMonths.add(TimeEntrySegments.monthOf(entry));
+                    }
+                } else {
+                    //kalıcı liste sürümü, kilit dışında kopyalamadan yazılır
+                    snapshots.put(collection, listOf(collection).values());
+                }
+            }
+            dirtyCollections.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        try {
+            //dizin kontrolü
+            new File(DATA_DIR).mkdirs();
+            
+            //seçili biçimde kaydet
+            ObjectWriter writer = fileMapper.writer();
+            for (Map.Entry<DataCollection, List<?>> snapshot : snapshots.entrySet()) {
+                AtomicFiles.writeValue(fileOf(snapshot.getKey()), writer, snapshot.getValue());
+            }
+            for (Map.Entry<YearMonth, List<TimeEntry>> month : monthSnapshots.entrySet()) {
+                YearMonth written = month.getKey();
+                long checksum = segments.write(written, month.getValue());
+                long dirtyCount = monthDirtyCounts.get(written);
+                write(() -> {
+                    segments.written(written, checksum, dirtyCount);
+                    return null;
+                });
+            }
+            if (openMonths != null) {
+                segments.writeIndex(openMonths);
+            }
+        } catch (IOException e) {
+            //yazılamayan koleksiyonlar ve aylar bir sonraki denemede tekrar yazılır
+            //(yazılamayan aylar zaten değişmiş işaretli kalır)
+            boolean monthsFailed = openMonths != null;
+            write(() -> {
+                dirtyCollections.addAll(snapshots.keySet());
+                if (monthsFailed) {
+                    dirtyCollections.add(DataCollection.TIME_ENTRIES);
+                }
+                return null;
+            });
+            throw e;
+        }
+        
+        //numaralı anlık görüntü (dosyalar değişmediyse atlanır)
+        if (numbered && snapshotAt > snapshotSequence) {
+            try {
+                snapshotStore.create(snapshotAt, dataFiles());
+                snapshotSequence = snapshotAt;
+            } catch (IOException e) {
+                //veri dosyaları yazıldı, yalnızca geri yükleme noktası eksik
+                System.err.println("anlık görüntü oluşturulamadı: " + e.getMessage());
+            }
+        }
+        
+        //anlık görüntü günlükteki her şeyi içeriyor
+        journal.truncate();
+    }
+
+    /**
+     *periyodik anlık görüntü
+     *
+     *son anlık görüntüden beri değişiklik yoksa yazılmaz
+     *hata loglanır, sonraki periyotta tekrar denenir
+     */
+    private void periodicSnapshot() {
+        if (read(() -> sequence == snapshotSequence && dirtyCollections.isEmpty())) {
+            return;
+        }
+        try {
+            writeSnapshot(true);
+        } catch (IOException e) {
+            System.err.println("periyodik anlık görüntü yazılamadı: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return anlık görüntüye alınacak veri dosyaları
+     */
+    private List<File> dataFiles() {
+        List<File> files = new ArrayList<>();
+        for (File file : new File[] {EMPLOYEES_FILE, LEAVE_REQUESTS_FILE}) {
+            if (file.exists()) {
+                files.add(file);
+            }
+        }
+        files.addAll(segments.files());
+        return files;
+    }
+
+    private IndexedList<?> listOf(DataCollection collection) {
+        return collection == DataCollection.EMPLOYEES ? employees : leaveRequests;
+    }
+
+    private static File fileOf(DataCollection collection) {
+        return collection == DataCollection.EMPLOYEES ? EMPLOYEES_FILE : LEAVE_REQUESTS_FILE;
+    }
+
+    /**
+     *değişiklik dinleyicisi ekleme
+     *
+     *dinleyici yazma kilidi altında çağrılır, değişiklikler bellekteki sırayla
+     *bildirilir; bildirim diske yazmayı beklemez
+     *
+     * @param listener dinleyici
+     */
+    public void addStorageListener(StorageListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeStorageListener(StorageListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     *servisi kapatma
+     *
+     *bekleyen değişiklikleri hemen yazma
+     *bekleyen yazmaların bitmesini bekleme
+     *günlük dosyasını kapatma
+     *birden fazla çağrılabilir (pencere kapanışı + kapanış kancası)
+     */
+    public void close() {
+        synchronized (commitLock) {
+            if (closed) {
+                return;
+            }
+            flush();
+            closed = true;
+        }
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("bekleyen yazmalar zamanında tamamlanamadı");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("günlük kapatılamadı: " + e.getMessage());
+        }
+    }
+
+    /**
+     *yeni personel ekleme
+     *
+     * @param employee eklenecek personel
+     */
+    public void addEmployee(Employee employee) {
+        commit(addEmployeeAsync(employee));
+    }
+
+    /**
+     *yeni personel ekleme (asenkron)
+     *
+     *bellek hemen güncellenir, diske yazma g/ç iş parçacığında yapılır
+     *
+     * @param employee eklenecek personel
+     * @return kayıt diske yazılınca tamamlanan future
+     */
+    public CompletableFuture<Void> addEmployeeAsync(Employee employee) {
+        return write(() -> {
+            Employee previous = employees.get(employee.getId());
+            employees.add(employee);
+            listeners.publish(StorageEvent.saved(DataCollection.EMPLOYEES, previous, employee));
+            return persist(upsertRecord(DataCollection.EMPLOYEES, employee.getId(), employee));
+        });
+    }
+
+    /**
+     *personel bilgilerini güncelleme
+     *
+     *personel yoksa hiçbir şey yapılmaz
+     *
+     * @param employee güncellenecek personel (id değişmez)
+     */
+    public void updateEmployee(Employee employee) {
+        commit(updateEmployeeAsync(employee));
+    }
+
+    /**
+     *personel bilgilerini güncelleme (asenkron)
+     *
+     *personel yoksa (ör. bu arada silinmişse) günlüğe yazılmaz,
+     *silinen kayıt geri gelmez
+     *
+     * @param employee güncellenecek personel (id değişmez)
+     * @return kayıt diske yazılınca, personel yoksa hemen tamamlanan future
+     */
+    public CompletableFuture<Void> updateEmployeeAsync(Employee employee) {
+        return write(() -> {
+            Employee previous = employees.get(employee.getId());
+            if (!employees.replace(employee)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            listeners.publish(StorageEvent.updated(DataCollection.EMPLOYEES, previous, employee));
+            return persist(upsertRecord(DataCollection.EMPLOYEES, employee.getId(), employee));
+        });
+    }
+
+    /**
+     *personel ve ilişkili verileri silme
+     *
+     *personel bilgileri
+     *giriş/çıkış kayıtları
+     *izin talepleri
+     *
+     * @param employeeId silinecek personel id
+     */
+    public void deleteEmployee(String employeeId) {
+        commit(deleteEmployeeAsync(employeeId));
+    }
+
+    /**
+     *personel ve ilişkili verileri silme (asenkron)
+     *
+     * @param employeeId silinecek personel id
+     * @return silme diske yazılınca tamamlanan future
+     */
+    public CompletableFuture<Void> deleteEmployeeAsync(String employeeId) {
+        awaitLoaded(DataCollection.TIME_ENTRIES, DataCollection.LEAVE_REQUESTS);
+        return write(() -> {
+            //personeli sil
+            Employee removed = employees.remove(employeeId);
+            
+            //giriş/çıkış kayıtlarını sil (tüm aylar)
+            loadAllMonths();
+            removeTimeEntriesOf(employeeId);
+            openEntries.remove(employeeId);
+            
+            //izin taleplerini sil
+            leaveRequests.removeGroup(employeeId);
+            
+            if (removed != null) {
+                listeners.publish(StorageEvent.deleted(DataCollection.EMPLOYEES, removed));
+            }
+            listeners.publish(StorageEvent.reloaded(DataCollection.TIME_ENTRIES));
+            listeners.publish(StorageEvent.reloaded(DataCollection.LEAVE_REQUESTS));
+            
+            //değişiklikleri kaydet
+            return persist(new JournalRecord(JournalRecord.Op.DELETE, DataCollection.EMPLOYEES, employeeId, null),
+                    new JournalRecord(JournalRecord.Op.DELETE_BY_EMPLOYEE, DataCollection.TIME_ENTRIES, employeeId, null),
+                    new JournalRecord(JournalRecord.Op.DELETE_BY_EMPLOYEE, DataCollection.LEAVE_REQUESTS, employeeId, null));
+        });
+    }
+
+    /**
+     *tüm personel listesini getirme
+     *
+     *kopyalama ve kilit yok, o anki sürüm döndürülür
+     *
+     * @return personel listesinin değiştirilemez anlık görüntüsü
+     */
+    public List<Employee> getAllEmployees() {
+        return employees.values();
+    }
+
+    /**
+     *id ile personel bulma
+     *
+     * @param id personel id
+     * @return bulunan personel veya null
+     */
+    public Employee getEmployeeById(String id) {
+        return read(() -> employees.get(id));
+    }
+
+    /**
+     *kullanıcı adı ile personel bulma
+     *
+     * @param username kullanıcı adı
+     * @return bulunan personel veya null
+     */
+    public Employee getEmployeeByUsername(String username) {
+        return employees.values().stream()
+                .filter(e -> e.getUsername().equals(username))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     *yeni personel id ayırma
+     *
+     *id'ler artan sayılardır, silinen personelin id'si tekrar verilmez
+     *diske her id için değil, {@code pms.employeeId.block} id'lik blok
+     *başına bir kez yazılır (employee_id.seq: ayrılmış son id);
+     *yeniden başlatmada blokta kullanılmamış id'ler atlanır
+     *kilitsiz sayaç, yalnızca blok bitince kısa kilit
+     *
+     * @return daha önce verilmemiş personel id
+     * @throws StorageException id sınırı diske yazılamazsa
+     */
+    public String nextEmployeeId() {
+        checkWritable();
+        if (employeeIdLimit < 0) {
+            initializeEmployeeIds();
+        }
+        long id = employeeIdSequence.incrementAndGet();
+        if (id > employeeIdLimit) {
+            reserveEmployeeIds(id);
+        }
+        return String.valueOf(id);
+    }
+
+    /**
+     *sayacı ilk kullanımda hazırlama
+     *
+     *başlangıç: dosyadaki sınır ile mevcut en büyük sayısal id'nin büyüğü
+     *(dosya yoksa veya okunamazsa personel listesi yeterli)
+     */
+    private void initializeEmployeeIds() {
+        synchronized (employeeIdLock) {
+            if (employeeIdLimit >= 0) {
+                return;
+            }
+            long start = 0;
+            if (EMPLOYEE_ID_FILE.exists()) {
+                try {
+                    start = Long.parseLong(new String(Files.readAllBytes(EMPLOYEE_ID_FILE.toPath()),
+                            StandardCharsets.UTF_8).trim());
+                } catch (IOException | NumberFormatException e) {
+                    System.err.println("personel id dosyası okunamadı, mevcut personelden devam ediliyor: "
+                            + e.getMessage());
+                }
+            }
+            for (Employee employee : employees.values()) {
+                start = Math.max(start, numericId(employee.getId()));
+            }
+            employeeIdSequence.set(start);
+            employeeIdLimit = start;
+        }
+    }
+
+    /**
+     *yeni id bloğunu diske işaretleme
+     *
+     *sınır önce diske, sonra belleğe yazılır: çökme sonrası
+     *verilmiş bir id tekrar verilmez
+     */
+    private void reserveEmployeeIds(long id) {
+        synchronized (employeeIdLock) {
+            if (id <= employeeIdLimit) {
+                return;
+            }
+            long limit = id + EMPLOYEE_ID_BLOCK - 1;
+            try {
+                AtomicFiles.writeBytes(EMPLOYEE_ID_FILE, Long.toString(limit).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new StorageException("personel id sınırı yazılamadı: " + e.getMessage(), e);
+            }
+            employeeIdLimit = limit;
+        }
+    }
+
+    /**
+     * @return id sayıysa değeri, değilse 0
+     */
+    static long numericId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 18) {
+            return 0;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+        }
+        return Long.parseLong(id);
+    }
+    
+    /**
+     *yeni giriş/çıkış kaydı ekleme
+     *
+     *personelin açık kaydı varsa ikinci açık kayıt reddedilir
+     *
+     * @param timeEntry eklenecek kayıt
+     * @throws IllegalStateException personelin zaten açık giriş kaydı varsa
+     */
+    public void addTimeEntry(TimeEntry timeEntry) {
+        commit(addTimeEntryAsync(timeEntry));
+    }
+
+    /**
+     *yeni giriş/çıkış kaydı ekleme (asenkron)
+     *
+     *açık kayıt kontrolü çağıran iş parçacığında hemen yapılır
+     *
+     * @param timeEntry eklenecek kayıt
+     * @return kayıt diske yazılınca tamamlanan future
+     * @throws IllegalStateException personelin zaten açık giriş kaydı varsa
+     */
+    public CompletableFuture<Void> addTimeEntryAsync(TimeEntry timeEntry) {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        return write(() -> {
+            loadMonth(TimeEntrySegments.monthOf(timeEntry));
+            if (timeEntry.getCheckOut() == null) {
+                trackOpenEntry(timeEntry);
+            }
+            TimeEntry previous = timeEntries.get(timeEntry.getId());
+            timeEntries.add(timeEntry);
+            segments.track(timeEntry, true);
+            listeners.publish(StorageEvent.saved(DataCollection.TIME_ENTRIES, previous, timeEntry));
+            return persist(upsertRecord(DataCollection.TIME_ENTRIES, timeEntry.getId(), timeEntry));
+        });
+    }
+
+    /**
+     *giriş/çıkış kaydını güncelleme
+     *
+     *kayıt yoksa hiçbir şey yapılmaz
+     *
+     * @param timeEntry güncellenecek kayıt
+     * @throws IllegalStateException kayıt açılıyor ve personelin başka açık kaydı varsa
+     */
+    public void updateTimeEntry(TimeEntry timeEntry) {
+        commit(updateTimeEntryAsync(timeEntry));
+    }
+
+    /**
+     *giriş/çıkış kaydını güncelleme (asenkron)
+     *
+     *kayıt yoksa açık kayıtlara eklenmez ve günlüğe yazılmaz
+     *
+     * @param timeEntry güncellenecek kayıt
+     * @return kayıt diske yazılınca, kayıt yoksa hemen tamamlanan future
+     * @throws IllegalStateException kayıt açılıyor ve personelin başka açık kaydı varsa
+     */
+    public CompletableFuture<Void> updateTimeEntryAsync(TimeEntry timeEntry) {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        return write(() -> {
+            loadMonth(TimeEntrySegments.monthOf(timeEntry));
+            TimeEntry previous = timeEntries.get(timeEntry.getId());
+            if (previous == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            //açık kayıt kontrolü değişiklikten önce (hata durumunda durum değişmez)
+            if (timeEntry.getCheckOut() == null) {
+                trackOpenEntry(timeEntry);
+            } else {
+                TimeEntry open = openEntries.get(timeEntry.getEmployeeId());
+                if (open != null && open.getId().equals(timeEntry.getId())) {
+                    openEntries.remove(timeEntry.getEmployeeId());
+                }
+            }
+            timeEntries.replace(timeEntry);
+            segments.track(timeEntry, true);
+            listeners.publish(StorageEvent.updated(DataCollection.TIME_ENTRIES, previous, timeEntry));
+            return persist(upsertRecord(DataCollection.TIME_ENTRIES, timeEntry.getId(), timeEntry));
+        });
+    }
+
+    private void trackOpenEntry(TimeEntry timeEntry) {
+        TimeEntry open = openEntries.get(timeEntry.getEmployeeId());
+        if (open != null && !open.getId().equals(timeEntry.getId())) {
+            throw new IllegalStateException("personelin zaten aktif bir giriş kaydı var: " + timeEntry.getEmployeeId());
+        }
+        openEntries.put(timeEntry.getEmployeeId(), timeEntry);
+    }
+
+    /**
+     *personelin açık giriş kaydını getirme
+     *
+     * @param employeeId personel id
+     * @return çıkışı yapılmamış kayıt veya null
+     */
+    public TimeEntry getOpenEntry(String employeeId) {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        return read(() -> openEntries.get(employeeId));
+    }
+
+    /**
+     *personelin açık kaydına çıkış zamanı yazma
+     *
+     * @param employeeId personel id
+     * @param time çıkış zamanı
+     * @return kapatılan kayıt veya açık kayıt yoksa null
+     */
+    public TimeEntry checkOut(String employeeId, LocalDateTime time) {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        TimeEntry entry;
+        CompletableFuture<Void> saved;
+        lock.writeLock().lock();
+        try {
+            entry = closeOpenEntry(employeeId, time);
+            if (entry == null) {
+                return null;
+            }
+            saved = persist(upsertRecord(DataCollection.TIME_ENTRIES, entry.getId(), entry));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commitIfClosed();
+        commit(saved);
+        return entry;
+    }
+
+    /**
+     *personelin açık kaydına çıkış zamanı yazma (asenkron)
+     *
+     * @param employeeId personel id
+     * @param time çıkış zamanı
+     * @return kayıt diske yazılınca kapatılan kayıtla (açık kayıt yoksa null ile) tamamlanan future
+     */
+    public CompletableFuture<TimeEntry> checkOutAsync(String employeeId, LocalDateTime time) {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        return write(() -> {
+            TimeEntry entry = closeOpenEntry(employeeId, time);
+            if (entry == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return persist(upsertRecord(DataCollection.TIME_ENTRIES, entry.getId(), entry))
+                    .thenApply(saved -> entry);
+        });
+    }
+
+    /**
+     *açık kaydı kapatma
+     *
+     *kayıt yerinde değiştirilmez: çıkış zamanlı yeni nesne listedeki
+     *eskisinin yerine konur, eski nesneyi tutan okuyucu (ör. sayaç)
+     *çıkış zamanı yazılmış ama süresi hesaplanmamış bir kayıt görmez
+     *
+     *yazma kilidi altında çağrılır
+     *
+     * @return kapatılan kayıt (yeni nesne) veya açık kayıt yoksa null
+     */
+    private TimeEntry closeOpenEntry(String employeeId, LocalDateTime time) {
+        TimeEntry open = openEntries.remove(employeeId);
+        if (open == null) {
+            return null;
+        }
+        TimeEntry entry = new TimeEntry(open.getId(), open.getEmployeeId(), open.getCheckIn());
+        entry.setCheckOut(time);
+        timeEntries.replace(entry);
+        segments.track(entry, true);
+        listeners.publish(StorageEvent.updated(DataCollection.TIME_ENTRIES, open, entry));
+        return entry;
+    }
+
+    /**
+     *personelin giriş/çıkış kayıtlarını getirme
+     *
+     *tüm aylar yüklenir
+     *
+     * @param employeeId personel id
+     * @return giriş zamanına göre sıralı giriş/çıkış kayıtlarının değiştirilemez anlık görüntüsü
+     */
+    public List<TimeEntry> getTimeEntriesByEmployeeId(String employeeId) {
+        ensureAllMonths();
+        return timeEntries.getGroup(employeeId);
+    }
+
+    /**
+     *personelin tarih aralığındaki giriş/çıkış kayıtlarını getirme
+     *
+     *yalnızca aralıkla kesişen aylar yüklenir
+     *
+     * @param employeeId personel id
+     * @param startDate başlangıç tarihi
+     * @param endDate bitiş tarihi
+     * @return giriş tarihi aralıkta olan, giriş zamanına göre sıralı kayıtlar
+     */
+    public List<TimeEntry> getTimeEntriesByEmployeeId(String employeeId, LocalDate startDate, LocalDate endDate) {
+        ensureMonths(startDate, endDate);
+        List<TimeEntry> result = new ArrayList<>();
+        for (TimeEntry entry : timeEntries.getGroup(employeeId)) {
+            if (isInRange(entry, startDate, endDate)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     *tarih aralığındaki giriş/çıkış kayıtlarını getirme
+     *
+     *yalnızca aralıkla kesişen ayların kayıtları taranır
+     *
+     * @param startDate başlangıç tarihi
+     * @param endDate bitiş tarihi
+     * @return giriş tarihi aralıkta olan kayıtlar
+     */
+    public List<TimeEntry> getTimeEntriesByDateRange(LocalDate startDate, LocalDate endDate) {
+        ensureMonths(startDate, endDate);
+        return read(() -> {
+            List<TimeEntry> result = new ArrayList<>();
+            for (YearMonth month : segments.months(YearMonth.from(startDate), YearMonth.from(endDate))) {
+                for (String id : segments.idsOf(month)) {
+                    TimeEntry entry = timeEntries.get(id);
+                    if (isInRange(entry, startDate, endDate)) {
+                        result.add(entry);
+                    }
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     *tarih aralığındaki giriş/çıkış kayıtlarını nesne oluşturmadan tarama
+     *
+     *değişmemiş kapanmış aylar belleğe eşlenmiş sütunlu kopyadan okunur,
+     *bu aylar servise yüklenmez; içinde bulunulan ay ve değişmiş aylar
+     *bellekteki kayıtlardan taranır
+     *
+     *yıllara yayılan rapor toplamları için
+     *
+     * @param startDate başlangıç tarihi
+     * @param endDate bitiş tarihi
+     * @param visitor giriş tarihi aralıkta olan her kayıt için çağrılır
+     */
+    public void scanTimeEntries(LocalDate startDate, LocalDate endDate, TimeEntryVisitor visitor) {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        YearMonth current = YearMonth.now();
+        List<ColumnarTimeEntries> closedMonths = new ArrayList<>();
+        List<TimeEntry> liveEntries = new ArrayList<>();
+        //aylar yüklenebilir ve sütunlu kopya önbelleği değişebilir, yazma kilidi alınır
+        lock.writeLock().lock();
+        try {
+            for (YearMonth month : segments.months(YearMonth.from(startDate), YearMonth.from(endDate))) {
+                if (month.isBefore(current) && !segments.isDirty(month)) {
+                    try {
+                        closedMonths.add(segments.columnar(month));
+                        continue;
+                    } catch (IOException e) {
+                        System.err.println("sütunlu kopya okunamadı (" + month + "): " + e.getMessage());
+                    }
+                }
+                loadMonth(month);
+                for (String id : segments.idsOf(month)) {
+                    liveEntries.add(timeEntries.get(id));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        //eşlenmiş dosyalar değişmez, tarama kilit dışında yapılır
+        long fromDay = startDate.toEpochDay();
+        long toDay = endDate.toEpochDay();
+        for (ColumnarTimeEntries month : closedMonths) {
+            month.scan(fromDay, toDay, visitor);
+        }
+        for (TimeEntry entry : liveEntries) {
+            if (isInRange(entry, startDate, endDate)) {
+                visitor.visit(entry.getEmployeeId(), entry.getCheckInEpochSecond(),
+                        entry.getCheckOutEpochSecond(), entry.isOvertime());
+            }
+        }
+    }
+
+    private static boolean isInRange(TimeEntry entry, LocalDate startDate, LocalDate endDate) {
+        if (entry.getCheckInEpochSecond() == TimeEntry.NONE) {
+            return false;
+        }
+        long day = ColumnarTimeEntries.epochDay(entry.getCheckInEpochSecond());
+        return day >= startDate.toEpochDay() && day <= endDate.toEpochDay();
+    }
+
+    /**
+     *tüm giriş/çıkış kayıtlarını getirme
+     *
+     * @return giriş/çıkış kayıtlarının değiştirilemez anlık görüntüsü
+     */
+    public List<TimeEntry> getAllTimeEntries() {
+        ensureAllMonths();
+        return timeEntries.values();
+    }
+
+    /**
+     *giriş/çıkış kayıtları sayfa sorgusu
+     *
+     *personel filtresiyle: personelin sıralı kayıtlarından aralık seçilir
+     *personel filtresi olmadan: aylar sırayla gezilir, her ayın kayıt sayısı
+     *bellekten veya (yüklenmemiş kapanmış aylarda) sütunlu kopyadan sayılır;
+     *yalnızca sayfanın düştüğü aylar yüklenir ve sıralanır (sıralı ay önbelleğe alınır)
+     *
+     *maliyet: ay sayısı + sayfanın düştüğü ayların boyutu, toplam kayıt sayısından bağımsız
+     *
+     * @param query filtre, sıralama ve sayfa bilgisi
+     * @return sayfa ve toplam kayıt sayısı
+     * @throws IllegalArgumentException imleç geçersizse
+     */
+    public Page<TimeEntry> findTimeEntries(TimeEntryQuery query) {
+        PageCursor cursor = query.getCursor() != null ? PageCursor.decode(query.getCursor()) : null;
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        if (query.getEmployeeId() != null) {
+            if (query.getStartDate() != null && query.getEndDate() != null) {
+                ensureMonths(query.getStartDate(), query.getEndDate());
+            } else {
+                ensureAllMonths();
+            }
+            List<TimeEntry> matches = new ArrayList<>();
+            for (TimeEntry entry : timeEntries.getGroup(query.getEmployeeId())) {
+                if (query.matches(entry)) {
+                    matches.add(entry);
+                }
+            }
+            matches.sort(CHECK_IN_ORDER);
+            return page(ordered(matches, query.isDescending()), cursor, query.getOffset(), query.getPageSize(),
+                    DataStorageService::checkInKey, TimeEntry::getId, query.isDescending());
+        }
+
+        //yüklenmemiş ay varsa ay yükleme ve sütunlu kopya için yazma kilidi gerekir
+        boolean loaded = read(() -> monthsOf(query).stream().allMatch(segments::isLoaded));
+        return loaded ? read(() -> findByMonth(query, cursor)) : write(() -> findByMonth(query, cursor));
+    }
+
+    /**
+     *personel filtresi olmadan ay ay sayfa bulma
+     *
+     *okuma kilidi altında (tüm aylar yüklüyse) veya yazma kilidi altında çağrılır
+     */
+    private Page<TimeEntry> findByMonth(TimeEntryQuery query, PageCursor cursor) {
+        LocalDate from = query.getStartDate();
+        LocalDate to = query.getEndDate();
+        boolean descending = query.isDescending();
+        List<YearMonth> months = new ArrayList<>(monthsOf(query));
+        if (descending) {
+            Collections.reverse(months);
+        }
+
+        int[] counts = new int[months.size()];
+        int total = 0;
+        for (int i = 0; i < months.size(); i++) {
+            counts[i] = countMonth(months.get(i), from, to);
+            total += counts[i];
+        }
+
+        //sayfanın başlangıç konumu
+        int start = 0;
+        if (cursor != null) {
+            YearMonth cursorMonth = YearMonth.from(LocalDate.ofEpochDay(ColumnarTimeEntries.epochDay(cursor.getKey())));
+            for (int i = 0; i < months.size(); i++) {
+                YearMonth month = months.get(i);
+                if (descending ? month.isAfter(cursorMonth) : month.isBefore(cursorMonth)) {
+                    start += counts[i];
+                    continue;
+                }
+                if (month.equals(cursorMonth)) {
+                    start += after(sortedMonth(month, from, to, descending), cursor,
+                            DataStorageService::checkInKey, TimeEntry::getId, descending);
+                }
+                break;
+            }
+        } else {
+            start = Math.min(query.getOffset(), total);
+        }
+
+        //yalnızca sayfanın düştüğü aylar okunur
+        List<TimeEntry> items = new ArrayList<>();
+        int skip = start;
+        for (int i = 0; i < months.size() && items.size() < query.getPageSize(); i++) {
+            if (skip >= counts[i]) {
+                skip -= counts[i];
+                continue;
+            }
+            List<TimeEntry> month = sortedMonth(months.get(i), from, to, descending);
+            for (int j = skip; j < month.size() && items.size() < query.getPageSize(); j++) {
+                items.add(month.get(j));
+            }
+            skip = 0;
+        }
+        return new Page<>(items, start, total, nextCursor(items, start, total,
+                DataStorageService::checkInKey, TimeEntry::getId));
+    }
+
+    /**
+     * @return sorgunun tarih aralığıyla kesişen bilinen aylar (artan)
+     */
+    private Set<YearMonth> monthsOf(TimeEntryQuery query) {
+        if (query.getStartDate() == null && query.getEndDate() == null) {
+            return segments.months();
+        }
+        return segments.months(
+                query.getStartDate() != null ? YearMonth.from(query.getStartDate()) : YearMonth.of(Year.MIN_VALUE, 1),
+                query.getEndDate() != null ? YearMonth.from(query.getEndDate()) : YearMonth.of(Year.MAX_VALUE, 12));
+    }
+
+    /**
+     *ayın aralıktaki kayıt sayısı
+     *
+     *yüklenmemiş kapanmış ay belleğe alınmaz, sütunlu kopyasından sayılır
+     */
+    private int countMonth(YearMonth month, LocalDate from, LocalDate to) {
+        if (!segments.isLoaded(month) && !segments.isDirty(month) && month.isBefore(YearMonth.now())) {
+            try {
+                ColumnarTimeEntries columns = segments.columnar(month);
+                if ((from == null || !from.isAfter(month.atDay(1)))
+                        && (to == null || !to.isBefore(month.atEndOfMonth()))) {
+                    return columns.size();
+                }
+                int[] count = {0};
+                columns.scan(from != null ? from.toEpochDay() : Long.MIN_VALUE,
+                        to != null ? to.toEpochDay() : Long.MAX_VALUE,
+                        (employeeId, checkIn, checkOut, overtime) -> count[0]++);
+                return count[0];
+            } catch (IOException e) {
+                System.err.println("sütunlu kopya okunamadı (" + month + "): " + e.getMessage());
+            }
+        }
+        loadMonth(month);
+        return sortedMonth(month, from, to, false).size();
+    }
+
+    /**
+     *ayın aralıktaki kayıtları, sayfa sırasında
+     *
+     *ayın sıralı hali önbellekten alınır, ay değiştiyse yeniden sıralanır
+     *aralık ikili aramayla seçilir, azalan sıra kopyasız ters görünümdür
+     */
+    private List<TimeEntry> sortedMonth(YearMonth month, LocalDate from, LocalDate to, boolean descending) {
+        loadMonth(month);
+        long modCount = segments.modCount(month);
+        SortedMonth sorted = sortedMonths.get(month);
+        if (sorted == null || sorted.modCount != modCount) {
+            List<TimeEntry> entries = new ArrayList<>();
+            for (String id : segments.idsOf(month)) {
+                TimeEntry entry = timeEntries.get(id);
+                if (entry != null && entry.getCheckIn() != null) {
+                    entries.add(entry);
+                }
+            }
+            entries.sort(CHECK_IN_ORDER);
+            sorted = new SortedMonth(modCount, entries);
+            sortedMonths.put(month, sorted);
+        }
+
+        List<TimeEntry> entries = sorted.entries;
+        int low = from != null ? lowerBound(entries, ColumnarTimeEntries.epochSecond(from.atStartOfDay())) : 0;
+        int high = to != null ?
+                lowerBound(entries, ColumnarTimeEntries.epochSecond(to.plusDays(1).atStartOfDay())) : entries.size();
+        return ordered(entries.subList(low, Math.max(low, high)), descending);
+    }
+
+    /**
+     * @return giriş zamanı saniyesi en az verilen değer olan ilk kaydın konumu
+     */
+    private static int lowerBound(List<TimeEntry> entries, long epochSecond) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (checkInKey(entries.get(mid)) < epochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     *ayın sıralı kayıtları ve sıralandığı andaki değişiklik sayacı
+     */
+    private static final class SortedMonth {
+        private final long modCount;
+        private final List<TimeEntry> entries;
+
+        private SortedMonth(long modCount, List<TimeEntry> entries) {
+            this.modCount = modCount;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     *tüm giriş/çıkış kayıtlarını silme
+     */
+    public void clearTimeEntries() {
+        awaitLoaded(DataCollection.TIME_ENTRIES);
+        commit(write(() -> {
+            timeEntries.clear();
+            segments.clear();
+            openEntries.clear();
+            listeners.publish(StorageEvent.reloaded(DataCollection.TIME_ENTRIES));
+            return persist(new JournalRecord(JournalRecord.Op.CLEAR, DataCollection.TIME_ENTRIES, null, null));
+        }));
+    }
+    
+    /**
+     *yeni izin talebi ekleme
+     *
+     * @param request eklenecek talep
+     */
+    public void addLeaveRequest(LeaveRequest request) {
+        commit(addLeaveRequestAsync(request));
+    }
+
+    /**
+     *yeni izin talebi ekleme (asenkron)
+     *
+     * @param request eklenecek talep
+     * @return talep diske yazılınca tamamlanan future
+     */
+    public CompletableFuture<Void> addLeaveRequestAsync(LeaveRequest request) {
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        return write(() -> {
+            LeaveRequest previous = leaveRequests.get(request.getId());
+            leaveRequests.add(request);
+            listeners.publish(StorageEvent.saved(DataCollection.LEAVE_REQUESTS, previous, request));
+            return persist(upsertRecord(DataCollection.LEAVE_REQUESTS, request.getId(), request));
+        });
+    }
+
+    /**
+     *izin talebini güncelleme
+     *
+     *talep yoksa hiçbir şey yapılmaz
+     *
+     * @param request güncellenecek talep
+     */
+    public void updateLeaveRequest(LeaveRequest request) {
+        commit(updateLeaveRequestAsync(request));
+    }
+
+    /**
+     *izin talebini güncelleme (asenkron)
+     *
+     *talep yoksa günlüğe yazılmaz
+     *
+     * @param request güncellenecek talep
+     * @return talep diske yazılınca, talep yoksa hemen tamamlanan future
+     */
+    public CompletableFuture<Void> updateLeaveRequestAsync(LeaveRequest request) {
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        return write(() -> {
+            LeaveRequest previous = leaveRequests.get(request.getId());
+            if (!leaveRequests.replace(request)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            listeners.publish(StorageEvent.updated(DataCollection.LEAVE_REQUESTS, previous, request));
+            return persist(upsertRecord(DataCollection.LEAVE_REQUESTS, request.getId(), request));
+        });
+    }
+
+    /**
+     *id ile izin talebi bulma
+     *
+     * @param id talep id
+     * @return bulunan talep veya null
+     */
+    public LeaveRequest getLeaveRequestById(String id) {
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        return read(() -> leaveRequests.get(id));
+    }
+
+    /**
+     *personelin izin taleplerini getirme
+     *
+     * @param employeeId personel id
+     * @return başlangıç tarihine göre sıralı izin taleplerinin değiştirilemez anlık görüntüsü
+     */
+    public List<LeaveRequest> getLeaveRequestsByEmployeeId(String employeeId) {
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        return leaveRequests.getGroup(employeeId);
+    }
+
+    /**
+     *bekleyen izin taleplerini getirme
+     *
+     * @return bekleyen izin talepleri listesi
+     */
+    public List<LeaveRequest> getPendingLeaveRequests() {
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        return leaveRequests.values().stream()
+                .filter(r -> r.getStatus() == LeaveRequest.LeaveStatus.PENDING)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     *tüm izin taleplerini getirme
+     *
+     * @return izin taleplerinin değiştirilemez anlık görüntüsü
+     */
+    public List<LeaveRequest> getAllLeaveRequests() {
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        return leaveRequests.values();
+    }
+
+    /**
+     *kullanılan izin günlerini hesaplama
+     *
+     * @param employeeId personel id
+     * @param year hesaplanacak yıl
+     * @return kullanılan izin günü sayısı
+     */
+    public int getUsedLeaveDays(String employeeId, int year) {
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        return leaveRequests.getGroup(employeeId).stream()
+                .filter(r -> r.getStatus() == LeaveRequest.LeaveStatus.APPROVED &&
+                        r.getStartDate().getYear() == year)
+                .mapToInt(LeaveRequest::getDurationInDays)
+                .sum();
+    }
+
+    /**
+     *tarih aralığındaki izin taleplerini getirme
+     *
+     * @param startDate başlangıç tarihi
+     * @param endDate bitiş tarihi
+     * @return izin talepleri listesi
+     */
+    public List<LeaveRequest> getLeaveRequestsByDateRange(LocalDate startDate, LocalDate endDate) {
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        return leaveRequests.values().stream()
+                .filter(r -> !r.getStartDate().isAfter(endDate) && !r.getEndDate().isBefore(startDate))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     *izin talepleri sayfa sorgusu
+     *
+     *personel filtresiyle personelin talepleri, yoksa tüm talepler
+     *anlık görüntü üzerinde kilitsiz filtrelenir; yalnızca uyan talepler sıralanır
+     *
+     * @param query filtre, sıralama ve sayfa bilgisi
+     * @return sayfa ve toplam talep sayısı
+     * @throws IllegalArgumentException imleç geçersizse
+     */
+    public Page<LeaveRequest> findLeaveRequests(LeaveRequestQuery query) {
+        PageCursor cursor = query.getCursor() != null ? PageCursor.decode(query.getCursor()) : null;
+        awaitLoaded(DataCollection.LEAVE_REQUESTS);
+        List<LeaveRequest> source = query.getEmployeeId() != null ?
+                leaveRequests.getGroup(query.getEmployeeId()) : leaveRequests.values();
+        List<LeaveRequest> matches = new ArrayList<>();
+        for (LeaveRequest request : source) {
+            if (query.matches(request)) {
+                matches.add(request);
+            }
+        }
+        matches.sort(START_DATE_ORDER);
+        return page(ordered(matches, query.isDescending()), cursor, query.getOffset(), query.getPageSize(),
+                DataStorageService::startDateKey, LeaveRequest::getId, query.isDescending());
+    }
+
+    /**
+     *sayfa sırasındaki listeden sayfa kesme
+     *
+     * @param ordered sayfa sırasındaki tüm sonuç
+     * @param cursor önceki sayfanın imleci veya null
+     * @param offset imleç yoksa başlangıç konumu
+     */
+    private static <T> Page<T> page(List<T> ordered, PageCursor cursor, int offset, int pageSize,
+                                    ToLongFunction<T> key, Function<T, String> idOf, boolean descending) {
+        int start = cursor != null ?
+                after(ordered, cursor, key, idOf, descending) : Math.min(offset, ordered.size());
+        List<T> items = new ArrayList<>(ordered.subList(start, Math.min(start + pageSize, ordered.size())));
+        return new Page<>(items, start, ordered.size(), nextCursor(items, start, ordered.size(), key, idOf));
+    }
+
+    /**
+     * @return sayfa sırasında imleçten sonraki ilk kaydın konumu
+     */
+    private static <T> int after(List<T> ordered, PageCursor cursor,
+                                 ToLongFunction<T> key, Function<T, String> idOf, boolean descending) {
+        int low = 0;
+        int high = ordered.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            T item = ordered.get(mid);
+            int compared = cursor.compare(key.applyAsLong(item), idOf.apply(item));
+            if (descending ? compared >= 0 : compared <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static <T> String nextCursor(List<T> items, int start, int total,
+                                         ToLongFunction<T> key, Function<T, String> idOf) {
+        if (items.isEmpty() || start + items.size() >= total) {
+            return null;
+        }
+        T last = items.get(items.size() - 1);
+        return PageCursor.encode(key.applyAsLong(last), idOf.apply(last));
+    }
+
+    /**
+     * @return artan sıralı listenin sayfa sırasındaki görünümü (azalan sıra kopyasız tersine çevrilir)
+     */
+    private static <T> List<T> ordered(List<T> ascending, boolean descending) {
+        if (!descending) {
+            return ascending;
+        }
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                return ascending.get(ascending.size() - 1 - index);
+            }
+
+            @Override
+            public int size() {
+                return ascending.size();
+            }
+        };
+    }
+
+    private static long checkInKey(TimeEntry entry) {
+        return entry.getCheckInEpochSecond();
+    }
+
+    private static long startDateKey(LeaveRequest request) {
+        return request.getStartDate().toEpochDay();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.semihtemiz.pms.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.semihtemiz.pms.model.Employee;
+
+/**
+ *personel kayıtları deposu
+ *
+ *senkron metodlar kayıt kalıcı olana kadar bekler,
+ *asenkron metodlar kalıcı olunca tamamlanan future döndürür
+ */
+public interface EmployeeRepository {
+
+    void addEmployee(Employee employee);
+
+    CompletableFuture<Void> addEmployeeAsync(Employee employee);
+
+    /**
+     *personel yoksa hiçbir şey yapılmaz (silinmiş kayıt geri gelmez)
+     *
+     * @param employee güncellenecek personel (id değişmez)
+     */
+    void updateEmployee(Employee employee);
+
+    /**
+     *personel yoksa hiçbir şey yapılmaz, future hatasız tamamlanır
+     */
+    CompletableFuture<Void> updateEmployeeAsync(Employee employee);
+
+    /**
+     *personeli, giriş/çıkış kayıtlarını ve izin taleplerini silme
+     *
+     * @param employeeId silinecek personel id
+     */
+    void deleteEmployee(String employeeId);
+
+    CompletableFuture<Void> deleteEmployeeAsync(String employeeId);
+
+    /**
+     * @return personel listesinin değiştirilemez anlık görüntüsü
+     */
+    List<Employee> getAllEmployees();
+
+    /**
+     * @return bulunan personel veya null
+     */
+    Employee getEmployeeById(String id);
+
+    /**
+     * @return bulunan personel veya null
+     */
+    Employee getEmployeeByUsername(String username);
+
+    /**
+     *yeni personel için id ayırma
+     *
+     *artan, kalıcı ve iş parçacığı güvenli; aynı id iki kez verilmez
+     *(yeniden başlatma sonrası dahil), silinen personelin id'si tekrar kullanılmaz
+     *
+     * @return kullanılmamış personel id
+     */
+    String nextEmployeeId();
+}
@@ -0,0 +1,320 @@
+package com.semihtemiz.pms.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ *id ile indekslenmiş liste
+ *
+ *ekleme sırasını koruyan liste
+ *id -> konum hash indeksi
+ *id ile o(1) bulma ve yerinde güncelleme
+ *isteğe bağlı grup indeksi (ör. personel id -> sıralı kayıtlar)
+ *
+ *liste ve gruplar kalıcı vektörlerde tutulur: her değişiklik yeni sürümü
+ *tek atamayla yayınlar, values() ve getGroup() o anki sürümü kopyalamadan
+ *ve kilitsiz döndürür; dönen liste sonraki değişikliklerden etkilenmez
+ *
+ *değişiklikler tek iş parçacığına sıralanmalı (servisin yazma kilidi),
+ *get(id) konum indeksine baktığından okuma kilidi altında çağrılmalı
+ *
+ * @param <T> kayıt türü
+ */
+public class IndexedList<T> implements Iterable<T> {
+    //kaydın id değerini veren fonksiyon
+    private final Function<T, String> idOf;
+
+    //sıralı kayıtların son sürümü
+    private volatile PersistentVector<T> items = PersistentVector.empty();
+
+    //id -> liste konumu
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    //grup anahtarı -> sıralı kayıtların son sürümü (grup indeksi yoksa null)
+    private final Function<T, String> groupOf;
+    private final Comparator<T> groupOrder;
+    private final Map<String, PersistentVector<T>> groups;
+
+    /**
+     * @param idOf kaydın id değerini veren fonksiyon
+     */
+    public IndexedList(Function<T, String> idOf) {
+        this(idOf, null, null);
+    }
+
+    /**
+     * @param idOf kaydın id değerini veren fonksiyon
+     * @param groupOf kaydın grup anahtarını veren fonksiyon
+     * @param groupOrder grup içi sıralama
+     */
+    public IndexedList(Function<T, String> idOf, Function<T, String> groupOf, Comparator<T> groupOrder) {
+        this.idOf = idOf;
+        this.groupOf = groupOf;
+        this.groupOrder = groupOrder;
+        this.groups = groupOf != null ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     *id ile kayıt bulma
+     *
+     * @param id kayıt id
+     * @return bulunan kayıt veya null
+     */
+    public T get(String id) {
+        Integer position = positions.get(id);
+        return position != null ? items.get(position) : null;
+    }
+
+    /**
+     *grup kayıtlarını getirme
+     *
+     * @param key grup anahtarı
+     * @return gruptaki kayıtların sıralı, değiştirilemez anlık görüntüsü
+     *(grup indeksi yoksa boş liste)
+     */
+    public List<T> getGroup(String key) {
+        if (groups == null) {
+            return Collections.emptyList();
+        }
+        List<T> group = groups.get(key);
+        return group != null ? group : Collections.emptyList();
+    }
+
+    /**
+     *kayıt ekleme
+     *
+     *aynı id zaten varsa yerinde değiştirilir
+     *
+     * @param item eklenecek kayıt
+     */
+    public void add(T item) {
+        String id = idOf.apply(item);
+        Integer position = positions.get(id);
+        if (position != null) {
+            T previous = items.get(position);
+            items = items.with(position, item);
+            relinkGroup(previous, item);
+        } else {
+            positions.put(id, items.size());
+            items = items.append(item);
+            relinkGroup(null, item);
+        }
+    }
+
+    /**
+     *mevcut kaydı yerinde değiştirme
+     *
+     * @param item yeni kayıt (id değişmez)
+     * @return kayıt bulunduysa true
+     */
+    public boolean replace(T item) {
+        Integer position = positions.get(idOf.apply(item));
+        if (position == null) {
+            return false;
+        }
+        T previous = items.get(position);
+        items = items.with(position, item);
+        relinkGroup(previous, item);
+        return true;
+    }
+
+    /**
+     *id ile kayıt silme
+     *
+     * @param id silinecek kayıt id
+     * @return silinen kayıt veya null
+     */
+    public T remove(String id) {
+        Integer position = positions.remove(id);
+        if (position == null) {
+            return null;
+        }
+        T removed = items.get(position);
+        items = items.removed(position);
+        reindexFrom(position);
+        relinkGroup(removed, null);
+        return removed;
+    }
+
+    /**
+     *bir gruba ait tüm kayıtları silme
+     *
+     * @param key grup anahtarı
+     * @return silinen kayıt sayısı (grup indeksi yoksa 0)
+     */
+    public int removeGroup(String key) {
+        if (groups == null) {
+            return 0;
+        }
+        List<T> group = groups.remove(key);
+        if (group == null) {
+            return 0;
+        }
+        List<T> remaining = new ArrayList<>(items.size() - group.size());
+        for (T item : items) {
+            if (!key.equals(groupOf.apply(item))) {
+                remaining.add(item);
+            }
+        }
+        items = PersistentVector.of(remaining);
+        positions.clear();
+        reindexFrom(0);
+        return group.size();
+    }
+
+    /**
+     *tüm kayıtları silme
+     */
+    public void clear() {
+        items = PersistentVector.empty();
+        positions.clear();
+        if (groups != null) {
+            groups.clear();
+        }
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * @return kayıtların değiştirilemez anlık görüntüsü (ekleme sırasında)
+     */
+    public List<T> values() {
+        return items;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return values().iterator();
+    }
+
+    /**
+     *kaydın grup konumunu güncelleme
+     *
+     *grubun yeni sürümü tek atamayla yayınlanır, okuyucu kaydın
+     *çıkarılıp henüz eklenmediği ara durumu görmez
+     *sıralama anahtarı değişmediyse yerinde değiştirilir,
+     *sona ekleme çoğu zaman o(1)
+     *
+     * @param previous gruptan çıkacak kayıt (yoksa null)
+     * @param item gruba girecek kayıt (yoksa null)
+     */
+    private void relinkGroup(T previous, T item) {
+        if (groups == null) {
+            return;
+        }
+        String previousKey = previous != null ? groupOf.apply(previous) : null;
+        String key = item != null ? groupOf.apply(item) : null;
+        if (previousKey != null && previousKey.equals(key)) {
+            PersistentVector<T> group = groups.get(key);
+            int index = group != null ? indexInGroup(group, previous) : -1;
+            if (index >= 0 && fitsAt(group, index, item)) {
+                groups.put(key, group.with(index, item));
+                return;
+            }
+            groups.put(key, linked(unlinked(group, index), item));
+            return;
+        }
+        if (previousKey != null) {
+            PersistentVector<T> group = groups.get(previousKey);
+            if (group != null) {
+                PersistentVector<T> rest = unlinked(group, indexInGroup(group, previous));
+                if (rest.isEmpty()) {
+                    groups.remove(previousKey);
+                } else {
+                    groups.put(previousKey, rest);
+                }
+            }
+        }
+        if (key != null) {
+            groups.put(key, linked(groups.get(key), item));
+        }
+    }
+
+    /**
+     *kaydı sıralı gruba ekleme
+     *
+     *eşit anahtarlı kayıtların sonuna eklenir
+     */
+    private PersistentVector<T> linked(PersistentVector<T> group, T item) {
+        if (group == null || group.isEmpty()) {
+            return PersistentVector.<T>empty().append(item);
+        }
+        if (groupOrder.compare(group.get(group.size() - 1), item) <= 0) {
+            return group.append(item);
+        }
+        return group.inserted(upperBound(group, item), item);
+    }
+
+    private PersistentVector<T> unlinked(PersistentVector<T> group, int index) {
+        if (group == null) {
+            return PersistentVector.empty();
+        }
+        return index >= 0 ? group.removed(index) : group;
+    }
+
+    /**
+     * @return kayıt, sırayı bozmadan konumdaki kaydın yerine konabiliyorsa true
+     */
+    private boolean fitsAt(List<T> group, int index, T item) {
+        return (index == 0 || groupOrder.compare(group.get(index - 1), item) <= 0)
+                && (index == group.size() - 1 || groupOrder.compare(item, group.get(index + 1)) <= 0);
+    }
+
+    /**
+     *sıralı grupta kaydın konumunu bulma
+     *
+     *önce ikili arama, sıralama anahtarı yerinde değiştiyse doğrusal arama
+     */
+    private int indexInGroup(List<T> group, T item) {
+        int index = Collections.binarySearch(group, item, groupOrder);
+        if (index >= 0) {
+            for (int i = index; i >= 0 && groupOrder.compare(group.get(i), item) == 0; i--) {
+                if (group.get(i) == item) {
+                    return i;
+                }
+            }
+            for (int i = index + 1; i < group.size() && groupOrder.compare(group.get(i), item) == 0; i++) {
+                if (group.get(i) == item) {
+                    return i;
+                }
+            }
+        }
+        String id = idOf.apply(item);
+        for (int i = 0; i < group.size(); i++) {
+            if (idOf.apply(group.get(i)).equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int upperBound(List<T> group, T item) {
+        int low = 0;
+        int high = group.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (groupOrder.compare(group.get(mid), item) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void reindexFrom(int start) {
+        PersistentVector<T> current = items;
+        for (int i = start; i < current.size(); i++) {
+            positions.put(idOf.apply(current.get(i)), i);
+        }
+    }
+}
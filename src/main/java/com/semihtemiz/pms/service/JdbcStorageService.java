@@ -0,0 +1,877 @@
+package com.semihtemiz.pms.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.semihtemiz.pms.model.Employee;
+import com.semihtemiz.pms.model.LeaveRequest;
+import com.semihtemiz.pms.model.TimeEntry;
+
+/**
+ *veri depolama servisi (gömülü sql veritabanı)
+ *
+ *h2 veritabanı yerel dosya olarak çalışır (varsayılan data/pms.mv.db), sunucu gerekmez
+ *kayıtlar belleğe alınmaz, her sorgu veritabanından okunur
+ *
+ *her tablo sorgu sütunları + kaydın json hali (data) olarak tutulur:
+ *employees: id, username
+ *time_entries: id, employee_id, check_in, check_out (epoch saniye), overtime
+ *leave_requests: id, employee_id, start_date, end_date, status
+ *
+ *indeksler: personel id + giriş zamanı, giriş zamanı, personel id + izin başlangıcı, izin durumu
+ *her işlem tek transaction, personel silme ilişkili kayıtlarla birlikte geri alınabilir
+ *asenkron metodlar ayrı g/ç iş parçacığında sırayla çalışır
+ *
+ *ilk açılışta veritabanı boşsa mevcut dosya verileri aktarılır,
+ *dosya verisi de yoksa varsayılan yönetici oluşturulur
+ *
+ *bağlantı ayarları: -Dpms.jdbc.url, -Dpms.jdbc.user, -Dpms.jdbc.password
+ */
+public class JdbcStorageService implements StorageService {
+    //veritabanı bağlantı ayarları
+    private static final String JDBC_URL = System.getProperty("pms.jdbc.url", "jdbc:h2:./data/pms");
+    private static final String JDBC_USER = System.getProperty("pms.jdbc.user", "sa");
+    private static final String JDBC_PASSWORD = System.getProperty("pms.jdbc.password", "");
+
+    //aktarılacak dosya verisinin dizini
+    private static final String DATA_DIR = "data";
+
+    //bir gündeki saniye
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    //tablo ve indeksler
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS employees ("
+                + "id VARCHAR(64) PRIMARY KEY, username VARCHAR(255), data CLOB NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS employees_username ON employees(username)",
+        "CREATE TABLE IF NOT EXISTS time_entries ("
+                + "id VARCHAR(64) PRIMARY KEY, employee_id VARCHAR(64) NOT NULL, "
+                + "check_in BIGINT, check_out BIGINT, overtime BOOLEAN NOT NULL, data CLOB NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS time_entries_employee ON time_entries(employee_id, check_in)",
+        "CREATE INDEX IF NOT EXISTS time_entries_check_in ON time_entries(check_in)",
+        "CREATE TABLE IF NOT EXISTS leave_requests ("
+                + "id VARCHAR(64) PRIMARY KEY, employee_id VARCHAR(64) NOT NULL, "
+                + "start_date DATE, end_date DATE, status VARCHAR(16), data CLOB NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS leave_requests_employee ON leave_requests(employee_id, start_date)",
+        "CREATE INDEX IF NOT EXISTS leave_requests_status ON leave_requests(status)"
+    };
+
+    //json dönüşüm nesnesi
+    private final ObjectMapper objectMapper;
+
+    //veritabanı bağlantısı (servis kilidi altında kullanılır)
+    private final Connection connection;
+
+    //asenkron işlemleri sırayla yürüten g/ç iş parçacığı
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pms-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //servis kapatıldı mı
+    private boolean closed;
+
+    //değişiklik dinleyicileri
+    private final StorageListeners listeners = new StorageListeners();
+
+    //açık transaction'ın değişiklikleri (commit sonrası bildirilir, rollback'te atılır)
+    private final List<StorageEvent> pendingEvents = new ArrayList<>();
+
+    /**
+     *servis başlatma
+     *
+     *veritabanına bağlanma
+     *tablo ve indeksleri oluşturma
+     *boş veritabanına dosya verilerini aktarma veya varsayılan yöneticiyi ekleme
+     *
+     * @throws StorageException veritabanı açılamazsa
+     */
+    public JdbcStorageService() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        new File(DATA_DIR).mkdirs();
+        try {
+            connection = DriverManager.getConnection(JDBC_URL, JDBC_USER, JDBC_PASSWORD);
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new StorageException("veritabanı açılamadı: " + e.getMessage(), e);
+        }
+
+        transaction(() -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : SCHEMA) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+        if (getAllEmployees().isEmpty()) {
+            initializeData();
+        }
+        initializeEmployeeIds();
+
+        //uygulama kapanırken bekleyen yazmaları tamamla
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "pms-shutdown"));
+    }
+
+    /**
+     *boş veritabanını doldurma
+     *
+     *dosya verisi varsa tamamı tek transaction ile aktarılır
+     *(dosyalar salt okunur servisle, değiştirilmeden okunur)
+     */
+    private void initializeData() {
+        if (!hasFileData()) {
+            addEmployee(DataStorageService.defaultAdmin());
+            return;
+        }
+
+        //dosyalara yazmayan, kanca ve zamanlayıcı kurmayan okuyucu
+        DataStorageService json = DataStorageService.readOnly();
+        try {
+            json.whenLoaded().join();
+            transaction(() -> {
+                for (Employee employee : json.getAllEmployees()) {
+                    upsert(employee);
+                }
+                for (TimeEntry entry : json.getAllTimeEntries()) {
+                    upsert(entry);
+                }
+                for (LeaveRequest request : json.getAllLeaveRequests()) {
+                    upsert(request);
+                }
+                return null;
+            });
+            System.out.println("dosya verileri veritabanına aktarıldı");
+        } finally {
+            json.close();
+        }
+    }
+
+    /**
+     *personel id dizisini hazırlama
+     *
+     *dizi yoksa mevcut en büyük sayısal id'den sonrasıyla oluşturulur
+     *(tablo yalnızca bu ilk açılışta taranır), varsa kaldığı yerden devam eder
+     */
+    private void initializeEmployeeIds() {
+        transaction(() -> {
+            if (count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES "
+                    + "WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = 'EMPLOYEE_IDS'") > 0) {
+                return null;
+            }
+            long last = 0;
+            try (PreparedStatement statement = prepare("SELECT id FROM employees");
+                 ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    last = Math.max(last, DataStorageService.numericId(rows.getString(1)));
+                }
+            }
+            update("CREATE SEQUENCE employee_ids START WITH " + (last + 1));
+            return null;
+        });
+    }
+
+    /**
+     * @return data dizininde herhangi bir biçimde personel dosyası varsa true
+     */
+    private static boolean hasFileData() {
+        for (DataFormat format : DataFormat.values()) {
+            if (format.file(new File(DATA_DIR), "employees").exists()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CompletableFuture<Void> whenLoaded() {
+        //kayıtlar sorgu anında okunur, beklenecek yükleme yok
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public CompletableFuture<Void> whenLoaded(DataCollection collection) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public CompletableFuture<Void> flush() {
+        //sıradaki asenkron işlemler bitince tamamlanır
+        //(kapanış kuyruğun bitmesini bekler, sonrasında bekleyen işlem yoktur)
+        try {
+            return CompletableFuture.runAsync(() -> { }, ioExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    public void saveData() {
+        transaction(() -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CHECKPOINT");
+            }
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> saveDataAsync() {
+        return runAsync(this::saveData);
+    }
+
+    /**
+     *işlemi g/ç iş parçacığında sıraya koyma
+     *
+     *servis kapandıktan sonra iş parçacığı durmuştur; işlem çalıştırılmaz,
+     *future IllegalStateException ile tamamlanır
+     *
+     * @param task çalıştırılacak işlem
+     * @return işlem bitince tamamlanan future
+     */
+    private CompletableFuture<Void> runAsync(Runnable task) {
+        return supplyAsync(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, ioExecutor);
+        } catch (RejectedExecutionException e) {
+            return closedFailure();
+        }
+    }
+
+    private static <T> CompletableFuture<T> closedFailure() {
+        return CompletableFuture.failedFuture(new IllegalStateException("depolama servisi kapatıldı"));
+    }
+
+    /**
+     *servisi kapatma
+     *
+     *bekleyen asenkron işlemleri bitirme ve bağlantıyı kapatma
+     *birden fazla çağrılabilir (pencere kapanışı + kapanış kancası)
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("bekleyen yazmalar zamanında tamamlanamadı");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("veritabanı kapatılamadı: " + e.getMessage());
+            }
+        }
+    }
+
+    public void addStorageListener(StorageListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeStorageListener(StorageListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void addEmployee(Employee employee) {
+        transaction(() -> {
+            Employee previous = current(Employee.class, "employees", employee.getId());
+            upsert(employee);
+            pendingEvents.add(StorageEvent.saved(DataCollection.EMPLOYEES, previous, employee));
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> addEmployeeAsync(Employee employee) {
+        return runAsync(() -> addEmployee(employee));
+    }
+
+    /**
+     *personel bilgilerini güncelleme
+     *
+     *satır yoksa (ör. bu arada silinmişse) hiçbir şey yapılmaz, kayıt yeniden oluşmaz
+     *
+     * @param employee güncellenecek personel (id değişmez)
+     */
+    public void updateEmployee(Employee employee) {
+        transaction(() -> {
+            Employee previous = current(Employee.class, "employees", employee.getId());
+            if (replace(employee) > 0) {
+                pendingEvents.add(StorageEvent.updated(DataCollection.EMPLOYEES, previous, employee));
+            }
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> updateEmployeeAsync(Employee employee) {
+        return runAsync(() -> updateEmployee(employee));
+    }
+
+    /**
+     *personel ve ilişkili verileri tek transaction ile silme
+     *
+     * @param employeeId silinecek personel id
+     */
+    public void deleteEmployee(String employeeId) {
+        transaction(() -> {
+            Employee previous = current(Employee.class, "employees", employeeId);
+            update("DELETE FROM time_entries WHERE employee_id = ?", employeeId);
+            update("DELETE FROM leave_requests WHERE employee_id = ?", employeeId);
+            update("DELETE FROM employees WHERE id = ?", employeeId);
+            if (previous != null) {
+                pendingEvents.add(StorageEvent.deleted(DataCollection.EMPLOYEES, previous));
+            }
+            pendingEvents.add(StorageEvent.reloaded(DataCollection.TIME_ENTRIES));
+            pendingEvents.add(StorageEvent.reloaded(DataCollection.LEAVE_REQUESTS));
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> deleteEmployeeAsync(String employeeId) {
+        return runAsync(() -> deleteEmployee(employeeId));
+    }
+
+    public List<Employee> getAllEmployees() {
+        return query(Employee.class, "SELECT data FROM employees ORDER BY id");
+    }
+
+    public Employee getEmployeeById(String id) {
+        return first(query(Employee.class, "SELECT data FROM employees WHERE id = ?", id));
+    }
+
+    public Employee getEmployeeByUsername(String username) {
+        return first(query(Employee.class, "SELECT data FROM employees WHERE username = ?", username));
+    }
+
+    /**
+     *veritabanı dizisinden personel id ayırma
+     *
+     *dizi değerleri veritabanında kalıcıdır, geri alınan işlemde de tekrar verilmez
+     */
+    public String nextEmployeeId() {
+        return transaction(() -> {
+            try (PreparedStatement statement = prepare("SELECT NEXT VALUE FOR employee_ids");
+                 ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return String.valueOf(rows.getLong(1));
+            }
+        });
+    }
+
+    public void addTimeEntry(TimeEntry timeEntry) {
+        transaction(() -> {
+            checkOpenEntry(timeEntry);
+            TimeEntry previous = current(TimeEntry.class, "time_entries", timeEntry.getId());
+            upsert(timeEntry);
+            pendingEvents.add(StorageEvent.saved(DataCollection.TIME_ENTRIES, previous, timeEntry));
+            return null;
+        });
+    }
+
+    /**
+     *açık kayıt kontrolü çağıran iş parçacığında yapılır (IllegalStateException hemen fırlar),
+     *yazma transaction'ında tekrar kontrol edilir
+     */
+    public CompletableFuture<Void> addTimeEntryAsync(TimeEntry timeEntry) {
+        if (ioExecutor.isShutdown()) {
+            return closedFailure();
+        }
+        transaction(() -> {
+            checkOpenEntry(timeEntry);
+            return null;
+        });
+        return runAsync(() -> addTimeEntry(timeEntry));
+    }
+
+    /**
+     *giriş/çıkış kaydını güncelleme
+     *
+     *satır yoksa hiçbir şey yapılmaz
+     *
+     * @param timeEntry güncellenecek kayıt
+     * @throws IllegalStateException kayıt açılıyor ve personelin başka açık kaydı varsa
+     */
+    public void updateTimeEntry(TimeEntry timeEntry) {
+        transaction(() -> {
+            TimeEntry previous = current(TimeEntry.class, "time_entries", timeEntry.getId());
+            if (previous == null) {
+                return null;
+            }
+            checkOpenEntry(timeEntry);
+            if (replace(timeEntry) > 0) {
+                pendingEvents.add(StorageEvent.updated(DataCollection.TIME_ENTRIES, previous, timeEntry));
+            }
+            return null;
+        });
+    }
+
+    /**
+     *açık kayıt kontrolü çağıran iş parçacığında yapılır (IllegalStateException hemen fırlar),
+     *yazma transaction'ında tekrar kontrol edilir
+     */
+    public CompletableFuture<Void> updateTimeEntryAsync(TimeEntry timeEntry) {
+        if (ioExecutor.isShutdown()) {
+            return closedFailure();
+        }
+        transaction(() -> {
+            if (current(TimeEntry.class, "time_entries", timeEntry.getId()) != null) {
+                checkOpenEntry(timeEntry);
+            }
+            return null;
+        });
+        return runAsync(() -> updateTimeEntry(timeEntry));
+    }
+
+    /**
+     *personelin başka açık kaydı varsa ikinci açık kaydı reddetme
+     */
+    private void checkOpenEntry(TimeEntry timeEntry) throws SQLException, IOException {
+        if (timeEntry.getCheckOut() != null) {
+            return;
+        }
+        List<TimeEntry> open = select(TimeEntry.class,
+                "SELECT data FROM time_entries WHERE employee_id = ? AND check_out IS NULL AND id <> ?",
+                timeEntry.getEmployeeId(), timeEntry.getId());
+        if (!open.isEmpty()) {
+            throw new IllegalStateException("personelin zaten aktif bir giriş kaydı var: " + timeEntry.getEmployeeId());
+        }
+    }
+
+    public TimeEntry getOpenEntry(String employeeId) {
+        return first(query(TimeEntry.class,
+                "SELECT data FROM time_entries WHERE employee_id = ? AND check_out IS NULL", employeeId));
+    }
+
+    public TimeEntry checkOut(String employeeId, LocalDateTime time) {
+        return transaction(() -> {
+            TimeEntry entry = first(select(TimeEntry.class,
+                    "SELECT data FROM time_entries WHERE employee_id = ? AND check_out IS NULL FOR UPDATE",
+                    employeeId));
+            if (entry == null) {
+                return null;
+            }
+            TimeEntry open = new TimeEntry(entry.getId(), entry.getEmployeeId(), entry.getCheckIn());
+            entry.setCheckOut(time);
+            upsert(entry);
+            pendingEvents.add(StorageEvent.updated(DataCollection.TIME_ENTRIES, open, entry));
+            return entry;
+        });
+    }
+
+    public CompletableFuture<TimeEntry> checkOutAsync(String employeeId, LocalDateTime time) {
+        return supplyAsync(() -> checkOut(employeeId, time));
+    }
+
+    public List<TimeEntry> getTimeEntriesByEmployeeId(String employeeId) {
+        return query(TimeEntry.class,
+                "SELECT data FROM time_entries WHERE employee_id = ? ORDER BY check_in", employeeId);
+    }
+
+    public List<TimeEntry> getTimeEntriesByEmployeeId(String employeeId, LocalDate startDate, LocalDate endDate) {
+        return query(TimeEntry.class,
+                "SELECT data FROM time_entries WHERE employee_id = ? AND check_in >= ? AND check_in < ? "
+                        + "ORDER BY check_in",
+                employeeId, startOf(startDate), startOf(endDate.plusDays(1)));
+    }
+
+    public List<TimeEntry> getTimeEntriesByDateRange(LocalDate startDate, LocalDate endDate) {
+        return query(TimeEntry.class,
+                "SELECT data FROM time_entries WHERE check_in >= ? AND check_in < ? ORDER BY check_in",
+                startOf(startDate), startOf(endDate.plusDays(1)));
+    }
+
+    /**
+     *tarih aralığındaki kayıtları yalnızca sorgu sütunlarından tarama
+     *
+     *kayıtların json hali okunmaz
+     */
+    public void scanTimeEntries(LocalDate startDate, LocalDate endDate, TimeEntryVisitor visitor) {
+        transaction(() -> {
+            try (PreparedStatement statement = prepare(
+                    "SELECT employee_id, check_in, check_out, overtime FROM time_entries "
+                            + "WHERE check_in >= ? AND check_in < ?",
+                    startOf(startDate), startOf(endDate.plusDays(1)));
+                 ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    long checkOut = rows.getLong(3);
+                    if (rows.wasNull()) {
+                        checkOut = ColumnarTimeEntries.OPEN;
+                    }
+                    visitor.visit(rows.getString(1), rows.getLong(2), checkOut, rows.getBoolean(4));
+                }
+            }
+            return null;
+        });
+    }
+
+    public List<TimeEntry> getAllTimeEntries() {
+        return query(TimeEntry.class, "SELECT data FROM time_entries ORDER BY check_in");
+    }
+
+    /**
+     *sayfa sorgusu: toplam için COUNT, sayfa için LIMIT/OFFSET
+     *imleçle devam ederken OFFSET yerine (check_in, id) anahtar koşulu kullanılır,
+     *böylece derin sayfalar da indeksten okunur
+     */
+    public Page<TimeEntry> findTimeEntries(TimeEntryQuery query) {
+        PageCursor cursor = query.getCursor() != null ? PageCursor.decode(query.getCursor()) : null;
+        StringBuilder where = new StringBuilder("check_in IS NOT NULL");
+        List<Object> parameters = new ArrayList<>();
+        if (query.getEmployeeId() != null) {
+            where.append(" AND employee_id = ?");
+            parameters.add(query.getEmployeeId());
+        }
+        if (query.getStartDate() != null) {
+            where.append(" AND check_in >= ?");
+            parameters.add(startOf(query.getStartDate()));
+        }
+        if (query.getEndDate() != null) {
+            where.append(" AND check_in < ?");
+            parameters.add(startOf(query.getEndDate().plusDays(1)));
+        }
+        return page(TimeEntry.class, "time_entries", "check_in", where.toString(), parameters,
+                cursor, cursor != null ? cursor.getKey() : null, query.getOffset(), query.getPageSize(),
+                query.isDescending(), TimeEntry::getCheckInEpochSecond, TimeEntry::getId);
+    }
+
+    public void clearTimeEntries() {
+        transaction(() -> {
+            update("DELETE FROM time_entries");
+            pendingEvents.add(StorageEvent.reloaded(DataCollection.TIME_ENTRIES));
+            return null;
+        });
+    }
+
+    public void addLeaveRequest(LeaveRequest request) {
+        transaction(() -> {
+            LeaveRequest previous = current(LeaveRequest.class, "leave_requests", request.getId());
+            upsert(request);
+            pendingEvents.add(StorageEvent.saved(DataCollection.LEAVE_REQUESTS, previous, request));
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> addLeaveRequestAsync(LeaveRequest request) {
+        return runAsync(() -> addLeaveRequest(request));
+    }
+
+    /**
+     *izin talebini güncelleme
+     *
+     *satır yoksa hiçbir şey yapılmaz
+     *
+     * @param request güncellenecek talep
+     */
+    public void updateLeaveRequest(LeaveRequest request) {
+        transaction(() -> {
+            LeaveRequest previous = current(LeaveRequest.class, "leave_requests", request.getId());
+            if (replace(request) > 0) {
+                pendingEvents.add(StorageEvent.updated(DataCollection.LEAVE_REQUESTS, previous, request));
+            }
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> updateLeaveRequestAsync(LeaveRequest request) {
+        return runAsync(() -> updateLeaveRequest(request));
+    }
+
+    public LeaveRequest getLeaveRequestById(String id) {
+        return first(query(LeaveRequest.class, "SELECT data FROM leave_requests WHERE id = ?", id));
+    }
+
+    public List<LeaveRequest> getLeaveRequestsByEmployeeId(String employeeId) {
+        return query(LeaveRequest.class,
+                "SELECT data FROM leave_requests WHERE employee_id = ? ORDER BY start_date", employeeId);
+    }
+
+    public List<LeaveRequest> getPendingLeaveRequests() {
+        return query(LeaveRequest.class, "SELECT data FROM leave_requests WHERE status = ? ORDER BY start_date",
+                LeaveRequest.LeaveStatus.PENDING.name());
+    }
+
+    public List<LeaveRequest> getAllLeaveRequests() {
+        return query(LeaveRequest.class, "SELECT data FROM leave_requests ORDER BY start_date");
+    }
+
+    public int getUsedLeaveDays(String employeeId, int year) {
+        List<LeaveRequest> approved = query(LeaveRequest.class,
+                "SELECT data FROM leave_requests WHERE employee_id = ? AND status = ? "
+                        + "AND start_date >= ? AND start_date < ?",
+                employeeId, LeaveRequest.LeaveStatus.APPROVED.name(),
+                LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+        return approved.stream().mapToInt(LeaveRequest::getDurationInDays).sum();
+    }
+
+    public List<LeaveRequest> getLeaveRequestsByDateRange(LocalDate startDate, LocalDate endDate) {
+        return query(LeaveRequest.class,
+                "SELECT data FROM leave_requests WHERE start_date <= ? AND end_date >= ? ORDER BY start_date",
+                endDate, startDate);
+    }
+
+    public Page<LeaveRequest> findLeaveRequests(LeaveRequestQuery query) {
+        PageCursor cursor = query.getCursor() != null ? PageCursor.decode(query.getCursor()) : null;
+        StringBuilder where = new StringBuilder("start_date IS NOT NULL");
+        List<Object> parameters = new ArrayList<>();
+        if (query.getEmployeeId() != null) {
+            where.append(" AND employee_id = ?");
+            parameters.add(query.getEmployeeId());
+        }
+        if (query.getStatus() != null) {
+            where.append(" AND status = ?");
+            parameters.add(query.getStatus().name());
+        }
+        if (query.getStartDate() != null) {
+            where.append(" AND end_date >= ?");
+            parameters.add(query.getStartDate());
+        }
+        if (query.getEndDate() != null) {
+            where.append(" AND start_date <= ?");
+            parameters.add(query.getEndDate());
+        }
+        return page(LeaveRequest.class, "leave_requests", "start_date", where.toString(), parameters,
+                cursor, cursor != null ? LocalDate.ofEpochDay(cursor.getKey()) : null,
+                query.getOffset(), query.getPageSize(), query.isDescending(),
+                request -> request.getStartDate().toEpochDay(), LeaveRequest::getId);
+    }
+
+    /**
+     *tek transaction içinde toplam sayı ve sayfa
+     *
+     * @param keyColumn sıralama sütunu (eşitlikte id)
+     * @param where filtre koşulu
+     * @param cursorKey imlecin sütun türündeki anahtar değeri
+     */
+    private <T> Page<T> page(Class<T> type, String table, String keyColumn, String where, List<Object> parameters,
+                             PageCursor cursor, Object cursorKey, int offset, int pageSize, boolean descending,
+                             ToLongFunction<T> key, Function<T, String> idOf) {
+        String direction = descending ? " DESC" : "";
+        String order = " ORDER BY " + keyColumn + direction + ", id" + direction;
+        return transaction(() -> {
+            int total = count("SELECT COUNT(*) FROM " + table + " WHERE " + where, parameters.toArray());
+            int start;
+            List<T> items;
+            if (cursor != null) {
+                //imleç ve öncesi / sonrası (sayfa sırasına göre)
+                String before = descending ?
+                        "(" + keyColumn + " > ? OR (" + keyColumn + " = ? AND id >= ?))" :
+                        "(" + keyColumn + " < ? OR (" + keyColumn + " = ? AND id <= ?))";
+                String after = descending ?
+                        "(" + keyColumn + " < ? OR (" + keyColumn + " = ? AND id < ?))" :
+                        "(" + keyColumn + " > ? OR (" + keyColumn + " = ? AND id > ?))";
+                List<Object> keyed = new ArrayList<>(parameters);
+                keyed.add(cursorKey);
+                keyed.add(cursorKey);
+                keyed.add(cursor.getId());
+                start = count("SELECT COUNT(*) FROM " + table + " WHERE " + where + " AND " + before,
+                        keyed.toArray());
+                keyed.add(pageSize);
+                items = select(type, "SELECT data FROM " + table + " WHERE " + where + " AND " + after
+                        + order + " LIMIT ?", keyed.toArray());
+            } else {
+                start = Math.min(offset, total);
+                List<Object> paged = new ArrayList<>(parameters);
+                paged.add(pageSize);
+                paged.add(start);
+                items = select(type, "SELECT data FROM " + table + " WHERE " + where + order + " LIMIT ? OFFSET ?",
+                        paged.toArray());
+            }
+            String next = null;
+            if (!items.isEmpty() && start + items.size() < total) {
+                T last = items.get(items.size() - 1);
+                next = PageCursor.encode(key.applyAsLong(last), idOf.apply(last));
+            }
+            return new Page<>(items, start, total, next);
+        });
+    }
+
+    private int count(String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = prepare(sql, parameters);
+             ResultSet rows = statement.executeQuery()) {
+            rows.next();
+            return (int) rows.getLong(1);
+        }
+    }
+
+    private void upsert(Employee employee) throws SQLException, IOException {
+        update("MERGE INTO employees (id, username, data) KEY (id) VALUES (?, ?, ?)",
+                employee.getId(), employee.getUsername(), objectMapper.writeValueAsString(employee));
+    }
+
+    private void upsert(TimeEntry entry) throws SQLException, IOException {
+        update("MERGE INTO time_entries (id, employee_id, check_in, check_out, overtime, data) "
+                        + "KEY (id) VALUES (?, ?, ?, ?, ?, ?)",
+                entry.getId(), entry.getEmployeeId(),
+                entry.getCheckInEpochSecond() != TimeEntry.NONE ? entry.getCheckInEpochSecond() : null,
+                entry.getCheckOutEpochSecond() != TimeEntry.NONE ? entry.getCheckOutEpochSecond() : null,
+                entry.isOvertime(), objectMapper.writeValueAsString(entry));
+    }
+
+    private void upsert(LeaveRequest request) throws SQLException, IOException {
+        update("MERGE INTO leave_requests (id, employee_id, start_date, end_date, status, data) "
+                        + "KEY (id) VALUES (?, ?, ?, ?, ?, ?)",
+                request.getId(), request.getEmployeeId(), request.getStartDate(), request.getEndDate(),
+                request.getStatus() != null ? request.getStatus().name() : null,
+                objectMapper.writeValueAsString(request));
+    }
+
+    /**
+     * @return güncellenen satır sayısı (kayıt yoksa 0)
+     */
+    private int replace(Employee employee) throws SQLException, IOException {
+        return update("UPDATE employees SET username = ?, data = ? WHERE id = ?",
+                employee.getUsername(), objectMapper.writeValueAsString(employee), employee.getId());
+    }
+
+    /**
+     * @return güncellenen satır sayısı (kayıt yoksa 0)
+     */
+    private int replace(TimeEntry entry) throws SQLException, IOException {
+        return update("UPDATE time_entries SET employee_id = ?, check_in = ?, check_out = ?, overtime = ?, data = ? "
+                        + "WHERE id = ?",
+                entry.getEmployeeId(),
+                entry.getCheckInEpochSecond() != TimeEntry.NONE ? entry.getCheckInEpochSecond() : null,
+                entry.getCheckOutEpochSecond() != TimeEntry.NONE ? entry.getCheckOutEpochSecond() : null,
+                entry.isOvertime(), objectMapper.writeValueAsString(entry), entry.getId());
+    }
+
+    /**
+     * @return güncellenen satır sayısı (kayıt yoksa 0)
+     */
+    private int replace(LeaveRequest request) throws SQLException, IOException {
+        return update("UPDATE leave_requests SET employee_id = ?, start_date = ?, end_date = ?, status = ?, data = ? "
+                        + "WHERE id = ?",
+                request.getEmployeeId(), request.getStartDate(), request.getEndDate(),
+                request.getStatus() != null ? request.getStatus().name() : null,
+                objectMapper.writeValueAsString(request), request.getId());
+    }
+
+    /**
+     * @return günün başlangıcı (epoch saniye, giriş zamanlarıyla aynı ölçek)
+     */
+    private static long startOf(LocalDate date) {
+        return date.toEpochDay() * SECONDS_PER_DAY;
+    }
+
+    /**
+     * @return tablodaki kaydın şu anki hali veya null
+     */
+    private <T> T current(Class<T> type, String table, String id) throws SQLException, IOException {
+        return first(select(type, "SELECT data FROM " + table + " WHERE id = ?", id));
+    }
+
+    private static <T> T first(List<T> rows) {
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     *sorguyu kendi transaction'ında çalıştırma
+     */
+    private <T> List<T> query(Class<T> type, String sql, Object... parameters) {
+        return transaction(() -> select(type, sql, parameters));
+    }
+
+    /**
+     *ilk sütunu json olan satırları kayıt nesnelerine dönüştürme
+     */
+    private <T> List<T> select(Class<T> type, String sql, Object... parameters) throws SQLException, IOException {
+        try (PreparedStatement statement = prepare(sql, parameters);
+             ResultSet rows = statement.executeQuery()) {
+            List<T> result = new ArrayList<>();
+            while (rows.next()) {
+                result.add(objectMapper.readValue(rows.getString(1), type));
+            }
+            return result;
+        }
+    }
+
+    private int update(String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = prepare(sql, parameters)) {
+            return statement.executeUpdate();
+        }
+    }
+
+    private PreparedStatement prepare(String sql, Object... parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+        return statement;
+    }
+
+    /**
+     *işlemi tek transaction içinde çalıştırma
+     *
+     *başarılıysa commit, hata durumunda rollback
+     *değişiklikler commit sonrası, servis kilidi bırakılmadan bildirilir
+     *(bildirim sırası commit sırasıyla aynı)
+     *
+     * @throws StorageException veritabanı veya dönüşüm hatası olursa
+     */
+    private synchronized <T> T transaction(Work<T> work) {
+        try {
+            T result = work.run();
+            connection.commit();
+            for (StorageEvent event : pendingEvents) {
+                listeners.publish(event);
+            }
+            pendingEvents.clear();
+            return result;
+        } catch (SQLException | IOException e) {
+            rollback();
+            throw new StorageException("veritabanı işlemi başarısız: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            rollback();
+            throw e;
+        }
+    }
+
+    private void rollback() {
+        pendingEvents.clear();
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            System.err.println("işlem geri alınamadı: " + e.getMessage());
+        }
+    }
+
+    /**
+     *transaction içinde çalışan işlem
+     */
+    private interface Work<T> {
+        T run() throws SQLException, IOException;
+    }
+}
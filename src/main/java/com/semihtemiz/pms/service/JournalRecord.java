@@ -0,0 +1,91 @@
+package com.semihtemiz.pms.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ *değişiklik günlüğündeki tek bir kayıt
+ *
+ *işlem türü (ekleme/güncelleme, silme, toplu silme, temizleme)
+ *etkilenen koleksiyon
+ *anahtar (kayıt id veya personel id)
+ *kaydın json içeriği
+ *sıra numarası (anlık görüntüde olan kayıtları atlamak için, eski kayıtlarda 0)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JournalRecord {
+
+    /**
+     *günlük işlem türleri
+     *
+     *upsert: kayıt ekleme veya id ile değiştirme
+     *delete: id ile kayıt silme
+     *delete_by_employee: personele ait tüm kayıtları silme
+     *clear: koleksiyonu tamamen boşaltma
+     */
+    public enum Op {
+        UPSERT,
+        DELETE,
+        DELETE_BY_EMPLOYEE,
+        CLEAR
+    }
+
+    private Op op;
+    private DataCollection collection;
+    private String key;
+    private JsonNode data;
+    private long sequence;
+
+    public JournalRecord() {
+    }
+
+    public JournalRecord(Op op, DataCollection collection, String key, JsonNode data) {
+        this.op = op;
+        this.collection = collection;
+        this.key = key;
+        this.data = data;
+    }
+
+    // getter ve setter metodları
+    public Op getOp() {
+        return op;
+    }
+
+    public void setOp(Op op) {
+        this.op = op;
+    }
+
+    public DataCollection getCollection() {
+        return collection;
+    }
+
+    public void setCollection(DataCollection collection) {
+        this.collection = collection;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public JsonNode getData() {
+        return data;
+    }
+
+    public void setData(JsonNode data) {
+        this.data = data;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
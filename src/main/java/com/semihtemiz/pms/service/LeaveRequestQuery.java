@@ -0,0 +1,143 @@
+package com.semihtemiz.pms.service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+import com.semihtemiz.pms.model.LeaveRequest;
+
+/**
+ *izin talepleri sayfa sorgusu
+ *
+ *boş bırakılan filtre uygulanmaz
+ *tarih aralığı verilirse aralıkla kesişen talepler döner
+ *başlangıç tarihi olmayan talepler sonuca dahil edilmez
+ *imleç verilirse konum yok sayılır
+ */
+public class LeaveRequestQuery {
+    //varsayılan sayfa boyutu
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     *sıralama: izin başlangıcı, eşitlikte talep id
+     */
+    public enum Sort {
+        START_DATE_ASC,
+        START_DATE_DESC
+    }
+
+    //filtreler
+    private String employeeId;
+    private LeaveRequest.LeaveStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    //sıralama ve sayfa
+    private Sort sort = Sort.START_DATE_DESC;
+    private int offset;
+    private String cursor;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LeaveRequest.LeaveStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(LeaveRequest.LeaveStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public void setSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public boolean isDescending() {
+        return sort == Sort.START_DATE_DESC;
+    }
+
+    /**
+     *talebin sonuçta yer alıp almadığı
+     *
+     *sayfayı yeniden okumadan değişen talebi yerleştirmek için
+     *
+     * @param request talep
+     * @return talep filtrelere uyuyorsa true
+     */
+    public boolean matches(LeaveRequest request) {
+        if (request.getStartDate() == null) {
+            return false;
+        }
+        if (employeeId != null && !employeeId.equals(request.getEmployeeId())) {
+            return false;
+        }
+        if (status != null && request.getStatus() != status) {
+            return false;
+        }
+        if (startDate != null && request.getEndDate() != null && request.getEndDate().isBefore(startDate)) {
+            return false;
+        }
+        return endDate == null || !request.getStartDate().isAfter(endDate);
+    }
+
+    /**
+     * @return sonuç sırası (izin başlangıcı, eşitlikte talep id)
+     */
+    public Comparator<LeaveRequest> comparator() {
+        Comparator<LeaveRequest> ascending = Comparator.comparing(LeaveRequest::getStartDate)
+                .thenComparing(LeaveRequest::getId);
+        return isDescending() ? ascending.reversed() : ascending;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = Math.max(0, offset);
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @param cursor önceki sayfanın {@link Page#getNextCursor()} değeri
+     */
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+    }
+}
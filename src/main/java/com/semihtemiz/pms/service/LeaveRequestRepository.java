@@ -0,0 +1,63 @@
+package com.semihtemiz.pms.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.semihtemiz.pms.model.LeaveRequest;
+
+/**
+ *izin talepleri deposu
+ */
+public interface LeaveRequestRepository {
+
+    void addLeaveRequest(LeaveRequest request);
+
+    CompletableFuture<Void> addLeaveRequestAsync(LeaveRequest request);
+
+    /**
+     *talep yoksa hiçbir şey yapılmaz
+     */
+    void updateLeaveRequest(LeaveRequest request);
+
+    /**
+     *talep yoksa hiçbir şey yapılmaz, future hatasız tamamlanır
+     */
+    CompletableFuture<Void> updateLeaveRequestAsync(LeaveRequest request);
+
+    /**
+     * @return bulunan talep veya null
+     */
+    LeaveRequest getLeaveRequestById(String id);
+
+    /**
+     * @return personelin başlangıç tarihine göre sıralı talepleri (değiştirilemez)
+     */
+    List<LeaveRequest> getLeaveRequestsByEmployeeId(String employeeId);
+
+    List<LeaveRequest> getPendingLeaveRequests();
+
+    /**
+     * @return tüm taleplerin değiştirilemez anlık görüntüsü
+     */
+    List<LeaveRequest> getAllLeaveRequests();
+
+    /**
+     * @return yılda başlayan onaylı izinlerin toplam gün sayısı
+     */
+    int getUsedLeaveDays(String employeeId, int year);
+
+    /**
+     * @return tarih aralığıyla kesişen talepler
+     */
+    List<LeaveRequest> getLeaveRequestsByDateRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     *filtreli ve sıralı sayfa sorgusu
+     *
+     * @param query filtre, sıralama ve sayfa bilgisi
+     * @return sayfa ve filtreye uyan toplam talep sayısı
+     * @throws IllegalArgumentException imleç geçersizse
+     */
+    Page<LeaveRequest> findLeaveRequests(LeaveRequestQuery query);
+}
@@ -0,0 +1,60 @@
+package com.semihtemiz.pms.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *sorgu sonucunun bir sayfası
+ *
+ *yalnızca istenen penceredeki kayıtlar ve filtreye uyan toplam kayıt sayısı
+ *sonraki sayfa konum (offset) veya imleçle (cursor) istenebilir;
+ *imleç araya kayıt eklense de aynı kayıttan devam eder
+ *
+ * @param <T> kayıt türü
+ */
+public class Page<T> {
+    //sayfadaki kayıtlar (sıralı)
+    private final List<T> items;
+
+    //ilk kaydın tüm sonuç içindeki konumu
+    private final int offset;
+
+    //filtreye uyan toplam kayıt sayısı
+    private final int total;
+
+    //sonraki sayfanın imleci (son sayfada null)
+    private final String nextCursor;
+
+    /**
+     * @param items sayfadaki kayıtlar
+     * @param offset ilk kaydın konumu
+     * @param total toplam kayıt sayısı
+     * @param nextCursor sonraki sayfanın imleci veya null
+     */
+    public Page(List<T> items, int offset, int total, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.offset = offset;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.semihtemiz.pms.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ *sayfa imleci
+ *
+ *sayfanın son kaydının sıralama anahtarı ve id değeri
+ *(giriş/çıkışta giriş zamanı epoch saniyesi, izinde başlangıç epoch günü)
+ *arayüze opak metin olarak verilir
+ */
+final class PageCursor {
+    private final long key;
+    private final String id;
+
+    private PageCursor(long key, String id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    static String encode(long key, String id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException imleç bu servisin ürettiği biçimde değilse
+     */
+    static PageCursor decode(String cursor) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = text.indexOf(':');
+            return new PageCursor(Long.parseLong(text.substring(0, separator)), text.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("geçersiz sayfa imleci: " + cursor);
+        }
+    }
+
+    long getKey() {
+        return key;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    /**
+     * @return kayıt artan sırada imleçten önceyse negatif, aynıysa 0, sonraysa pozitif
+     */
+    int compare(long key, String id) {
+        int byKey = Long.compare(key, this.key);
+        return byKey != 0 ? byKey : id.compareTo(this.id);
+    }
+}
@@ -0,0 +1,75 @@
+package com.semihtemiz.pms.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *diske yazılmayı bekleyen değişiklikler
+ *
+ *aynı kayda ait art arda değişiklikler tek kayda indirgenir:
+ *upsert/delete aynı anahtarın önceki kaydının yerine geçer
+ *clear koleksiyonun bekleyen tüm kayıtlarının yerine geçer
+ *delete_by_employee olduğu gibi sıraya eklenir
+ *
+ *kayıt sırası korunur, son değişiklik sona taşınır
+ */
+public class PendingChanges {
+    //koleksiyon + anahtar -> bekleyen kayıt (ekleme sırasında)
+    private final Map<String, JournalRecord> records = new LinkedHashMap<>();
+
+    //anahtarsız kayıtlar için sıra numarası
+    private long sequence;
+
+    /**
+     *değişiklik ekleme
+     *
+     * @param record günlük kaydı
+     */
+    public void add(JournalRecord record) {
+        switch (record.getOp()) {
+            case UPSERT:
+            case DELETE:
+                String slot = record.getCollection() + ":" + record.getKey();
+                records.remove(slot);
+                records.put(slot, record);
+                break;
+            case CLEAR:
+                Iterator<JournalRecord> iterator = records.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().getCollection() == record.getCollection()) {
+                        iterator.remove();
+                    }
+                }
+                records.put("#" + sequence++, record);
+                break;
+            default:
+                records.put("#" + sequence++, record);
+                break;
+        }
+    }
+
+    /**
+     * @return bekleyen (birleştirilmiş) kayıt sayısı
+     */
+    public int size() {
+        return records.size();
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    /**
+     *bekleyen kayıtları alıp kuyruğu boşaltma
+     *
+     * @return yazılacak kayıtlar (sıralı)
+     */
+    public List<JournalRecord> drain() {
+        List<JournalRecord> drained = new ArrayList<>(records.values());
+        records.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,260 @@
+package com.semihtemiz.pms.service;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ *kalıcı (değiştirilemez, yapı paylaşımlı) liste
+ *
+ *32 dallı dizi ağacı ve en fazla 32 elemanlı kuyruk dizisi
+ *her değişiklik yeni sürüm döndürür, eski sürüm olduğu gibi kalır
+ *yeni sürüm eskisiyle değişmeyen düğümleri paylaşır:
+ *sona ekleme ve konum güncelleme o(log32 n) (1 milyon kayıtta 4 seviye)
+ *ortadan silme ve araya ekleme listeyi yeniden kurar, o(n)
+ *
+ *sürümler değiştirilemez olduğundan kilitsiz okunabilir,
+ *okuyucuya kopyalamadan verilebilir
+ *
+ * @param <T> eleman türü
+ */
+final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+    //düğüm başına bit ve eleman sayısı
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+
+    //kökün seviyesi (bit kaydırma miktarı)
+    private final int shift;
+
+    //iç düğümler Object[] çocuk, yapraklar eleman tutar
+    private final Object[] root;
+
+    //ağaca henüz eklenmemiş son elemanlar
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     *listeden tek seferde kurma
+     *
+     *yapraklar doğrudan doldurulur, ara sürüm oluşturulmaz
+     *
+     * @param items elemanlar (sırasıyla)
+     * @return yeni liste
+     */
+    static <T> PersistentVector<T> of(Collection<? extends T> items) {
+        Object[] all = items.toArray();
+        int size = all.length;
+        if (size == 0) {
+            return empty();
+        }
+        int tailOffset = tailOffset(size);
+        Object[] tail = Arrays.copyOfRange(all, tailOffset, size);
+
+        //yaprak düğümleri
+        List<Object[]> nodes = new ArrayList<>();
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            nodes.add(Arrays.copyOfRange(all, i, i + WIDTH));
+        }
+        //kök en fazla 32 çocuk tutana kadar üst seviyeler
+        int shift = BITS;
+        while (nodes.size() > WIDTH) {
+            List<Object[]> parents = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i += WIDTH) {
+                Object[] parent = new Object[WIDTH];
+                List<Object[]> children = nodes.subList(i, Math.min(i + WIDTH, nodes.size()));
+                for (int j = 0; j < children.size(); j++) {
+                    parent[j] = children.get(j);
+                }
+                parents.add(parent);
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+        Object[] root = new Object[WIDTH];
+        for (int i = 0; i < nodes.size(); i++) {
+            root[i] = nodes.get(i);
+        }
+        return new PersistentVector<>(size, shift, root, tail);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    /**
+     *sona eleman ekleme
+     *
+     * @return eklenmiş yeni sürüm
+     */
+    PersistentVector<T> append(T item) {
+        //kuyrukta yer var
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = item;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        //dolu kuyruk ağaca taşınır
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            //kök doldu, ağaç bir seviye büyür
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {item});
+    }
+
+    /**
+     *konumdaki elemanı değiştirme
+     *
+     * @return değiştirilmiş yeni sürüm (yalnızca kökten yaprağa yol kopyalanır)
+     */
+    PersistentVector<T> with(int index, T item) {
+        checkIndex(index);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = item;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, item), tail);
+    }
+
+    /**
+     *araya eleman ekleme (liste yeniden kurulur)
+     */
+    PersistentVector<T> inserted(int index, T item) {
+        if (index == size) {
+            return append(item);
+        }
+        List<T> items = new ArrayList<>(this);
+        items.add(index, item);
+        return of(items);
+    }
+
+    /**
+     *konumdaki elemanı silme (liste yeniden kurulur)
+     */
+    PersistentVector<T> removed(int index) {
+        checkIndex(index);
+        List<T> items = new ArrayList<>(this);
+        items.remove(index);
+        return of(items);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                //yaprak 32 elemanda bir bulunur
+                if (leaf == null || (index & MASK) == 0) {
+                    leaf = leafFor(index);
+                }
+                return (T) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    private Object[] leafFor(int index) {
+        checkIndex(index);
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int child = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[child] = tailNode;
+        } else {
+            Object[] existing = (Object[]) parent[child];
+            copy[child] = existing != null ?
+                    pushTail(level - BITS, existing, tailNode) : newPath(level - BITS, tailNode);
+        }
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object item) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = item;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = assoc(level - BITS, (Object[]) node[child], index, item);
+        }
+        return copy;
+    }
+
+    /**
+     * @return ağaçtaki eleman sayısı (kuyruğun başladığı konum)
+     */
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("konum: " + index + ", boyut: " + size);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.semihtemiz.pms.service;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *zamana göre sıralı kayıt id üretici (tsid biçimi)
+ *
+ *64 bitlik id: 42 bit milisaniye (2020 başından itibaren),
+ *10 bit düğüm, 12 bit sayaç
+ *aynı milisaniyede 4096'dan fazla id istenirse ya da saat geri giderse
+ *sonraki milisaniyeden devam edilir, id'ler süreç içinde hep artar
+ *
+ *kayıtlarda 13 karakterlik crockford base32 metni olarak saklanır;
+ *metin sabit uzunlukta olduğundan alfabetik sıra sayısal sırayla aynıdır
+ *id alanları metin kaldığından eski uuid id'li kayıtlar aynen okunur
+ *
+ *düğüm numarası pms.node (0-1023) ile verilir, verilmezse
+ *açılışta rastgele seçilir
+ */
+public final class RecordIds {
+    //2020-01-01T00:00:00Z
+    private static final long EPOCH = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 10;
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 13;
+
+    private static final long NODE = node();
+
+    //son verilen (milisaniye << 12 | sayaç) değeri, düğüm bitleri hariç
+    private static final AtomicLong last = new AtomicLong();
+
+    private RecordIds() {
+    }
+
+    /**
+     * @return yeni id'nin metin biçimi
+     */
+    public static String next() {
+        return format(nextValue());
+    }
+
+    /**
+     * @return yeni 64 bitlik id
+     */
+    public static long nextValue() {
+        long now = (System.currentTimeMillis() - EPOCH) << COUNTER_BITS;
+        //sayaç taşarsa milisaniye kısmına geçer
+        long state = last.updateAndGet(previous -> Math.max(now, previous + 1));
+        return (state >>> COUNTER_BITS) << (NODE_BITS + COUNTER_BITS)
+                | NODE << COUNTER_BITS
+                | (state & COUNTER_MASK);
+    }
+
+    /**
+     *id'yi sabit uzunlukta crockford base32 metnine çevirme
+     *
+     * @param id 64 bitlik id
+     * @return 13 karakterlik metin
+     */
+    public static String format(long id) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static long node() {
+        long max = (1L << NODE_BITS) - 1;
+        Long configured = Long.getLong("pms.node");
+        if (configured == null) {
+            return ThreadLocalRandom.current().nextLong(max + 1);
+        }
+        if (configured < 0 || configured > max) {
+            throw new IllegalArgumentException("pms.node 0-" + max + " arasında olmalı: " + configured);
+        }
+        return configured;
+    }
+}
@@ -0,0 +1,299 @@
+package com.semihtemiz.pms.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.semihtemiz.pms.model.Employee;
+import com.semihtemiz.pms.model.LeaveRequest;
+
+/**
+ *yönetici raporları için toplama servisi
+ *
+ *tarih aralığındaki kayıtlar üzerinde tek geçiş
+ *(kapanmış aylar sütunlu kopyadan, nesne oluşturmadan)
+ *personel bazlı toplamlar (personel sırasına göre dizilerde)
+ *departman toplamları personel toplamlarından türetilir
+ */
+public class ReportService {
+    //günlük normal çalışma süresi (saat)
+    private static final long DAILY_HOURS = 8;
+
+    //veri depolama servisi
+    private final StorageService dataService;
+
+    public ReportService(StorageService dataService) {
+        this.dataService = dataService;
+    }
+
+    /**
+     *çalışma saatlerini toplama
+     *
+     *çalışma saatleri, fazla mesai, eksik mesai ve departman
+     *raporları aynı sonuçtan üretilir
+     *
+     * @param startDate başlangıç tarihi
+     * @param endDate bitiş tarihi
+     * @return personel bazlı çalışma toplamları
+     */
+    public WorkSummary summarizeWork(LocalDate startDate, LocalDate endDate) {
+        List<Employee> employees = reportableEmployees();
+        Map<String, Integer> ordinals = ordinals(employees);
+
+        int count = employees.size();
+        long[] totalHours = new long[count];
+        long[] overtimeHours = new long[count];
+        long[] missingHours = new long[count];
+        List<List<ShortDay>> shortDays = new ArrayList<>(Collections.nCopies(count, null));
+
+        //kapanmış aylar sütunlu kopyadan taranır, kayıt nesnesi oluşturulmaz
+        dataService.scanTimeEntries(startDate, endDate, (employeeId, checkIn, checkOut, overtime) -> {
+            if (checkOut == ColumnarTimeEntries.OPEN) {
+                return;
+            }
+            Integer ordinal = ordinals.get(employeeId);
+            if (ordinal == null) {
+                return;
+            }
+
+            long hours = (checkOut - checkIn) / 3600;
+            totalHours[ordinal] += hours;
+            if (hours > DAILY_HOURS) {
+                overtimeHours[ordinal] += hours - DAILY_HOURS;
+            } else if (hours < DAILY_HOURS) {
+                missingHours[ordinal] += DAILY_HOURS - hours;
+                if (shortDays.get(ordinal) == null) {
+                    shortDays.set(ordinal, new ArrayList<>());
+                }
+                shortDays.get(ordinal).add(new ShortDay(checkIn, hours));
+            }
+        });
+
+        //tarama sırası kapanmış aylar önce, canlı aylar sonra; rapor giriş zamanına göre sıralı
+        for (List<ShortDay> days : shortDays) {
+            if (days != null) {
+                days.sort(Comparator.comparingLong(day -> day.checkIn));
+            }
+        }
+
+        return new WorkSummary(employees, totalHours, overtimeHours, missingHours, shortDays);
+    }
+
+    /**
+     *izin kullanımını toplama
+     *
+     *tamamı tarih aralığı içinde kalan talepler sayılır
+     *
+     * @param startDate başlangıç tarihi
+     * @param endDate bitiş tarihi
+     * @return personel bazlı izin toplamları
+     */
+    public LeaveSummary summarizeLeaves(LocalDate startDate, LocalDate endDate) {
+        List<Employee> employees = reportableEmployees();
+        Map<String, Integer> ordinals = ordinals(employees);
+
+        int count = employees.size();
+        int[] approvedDays = new int[count];
+        int[] pendingDays = new int[count];
+        int[] rejectedDays = new int[count];
+
+        for (LeaveRequest leave : dataService.getLeaveRequestsByDateRange(startDate, endDate)) {
+            if (leave.getStartDate().isBefore(startDate) || leave.getEndDate().isAfter(endDate)) {
+                continue;
+            }
+            Integer ordinal = ordinals.get(leave.getEmployeeId());
+            if (ordinal == null) {
+                continue;
+            }
+
+            int days = leave.getDurationInDays();
+            switch (leave.getStatus()) {
+                case APPROVED:
+                    approvedDays[ordinal] += days;
+                    break;
+                case PENDING:
+                    pendingDays[ordinal] += days;
+                    break;
+                case REJECTED:
+                    rejectedDays[ordinal] += days;
+                    break;
+            }
+        }
+
+        return new LeaveSummary(employees, approvedDays, pendingDays, rejectedDays);
+    }
+
+    /**
+     * @return yönetici hariç personel listesi
+     */
+    private List<Employee> reportableEmployees() {
+        List<Employee> employees = new ArrayList<>();
+        for (Employee employee : dataService.getAllEmployees()) {
+            if (employee.getRole() != Employee.UserRole.ADMIN) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * @return personel id -> dizi konumu
+     */
+    private Map<String, Integer> ordinals(List<Employee> employees) {
+        Map<String, Integer> ordinals = new HashMap<>(employees.size() * 2);
+        for (int i = 0; i < employees.size(); i++) {
+            ordinals.put(employees.get(i).getId(), i);
+        }
+        return ordinals;
+    }
+
+    /**
+     *personel bazlı çalışma toplamları
+     */
+    public static class WorkSummary {
+        private final List<Employee> employees;
+        private final long[] totalHours;
+        private final long[] overtimeHours;
+        private final long[] missingHours;
+        private final List<List<ShortDay>> shortDays;
+
+        private WorkSummary(List<Employee> employees, long[] totalHours, long[] overtimeHours,
+                long[] missingHours, List<List<ShortDay>> shortDays) {
+            this.employees = employees;
+            this.totalHours = totalHours;
+            this.overtimeHours = overtimeHours;
+            this.missingHours = missingHours;
+            this.shortDays = shortDays;
+        }
+
+        public int size() {
+            return employees.size();
+        }
+
+        public Employee getEmployee(int index) {
+            return employees.get(index);
+        }
+
+        public long getTotalHours(int index) {
+            return totalHours[index];
+        }
+
+        public long getOvertimeHours(int index) {
+            return overtimeHours[index];
+        }
+
+        public long getMissingHours(int index) {
+            return missingHours[index];
+        }
+
+        /**
+         * @return 8 saatten az çalışılan günler
+         */
+        public List<ShortDay> getShortDays(int index) {
+            List<ShortDay> days = shortDays.get(index);
+            return days != null ? days : Collections.emptyList();
+        }
+
+        /**
+         *departman toplamları
+         *
+         * @return departman adı -> toplamlar (ilk görülme sırasında)
+         */
+        public Map<String, DepartmentTotals> getDepartments() {
+            Map<String, DepartmentTotals> departments = new LinkedHashMap<>();
+            for (int i = 0; i < employees.size(); i++) {
+                DepartmentTotals totals = departments.computeIfAbsent(
+                        employees.get(i).getDepartment(), key -> new DepartmentTotals());
+                totals.employeeCount++;
+                totals.totalHours += totalHours[i];
+                totals.overtimeHours += overtimeHours[i];
+            }
+            return departments;
+        }
+    }
+
+    /**
+     *8 saatten az çalışılan gün
+     */
+    public static class ShortDay {
+        //giriş zamanı (epoch saniyesi, sıralama için)
+        private final long checkIn;
+        private final long hours;
+
+        private ShortDay(long checkIn, long hours) {
+            this.checkIn = checkIn;
+            this.hours = hours;
+        }
+
+        public LocalDate getDate() {
+            return LocalDate.ofEpochDay(ColumnarTimeEntries.epochDay(checkIn));
+        }
+
+        public long getHours() {
+            return hours;
+        }
+    }
+
+    /**
+     *departman toplamları
+     */
+    public static class DepartmentTotals {
+        private int employeeCount;
+        private long totalHours;
+        private long overtimeHours;
+
+        public int getEmployeeCount() {
+            return employeeCount;
+        }
+
+        public long getTotalHours() {
+            return totalHours;
+        }
+
+        public long getOvertimeHours() {
+            return overtimeHours;
+        }
+    }
+
+    /**
+     *personel bazlı izin toplamları
+     */
+    public static class LeaveSummary {
+        private final List<Employee> employees;
+        private final int[] approvedDays;
+        private final int[] pendingDays;
+        private final int[] rejectedDays;
+
+        private LeaveSummary(List<Employee> employees, int[] approvedDays, int[] pendingDays, int[] rejectedDays) {
+            this.employees = employees;
+            this.approvedDays = approvedDays;
+            this.pendingDays = pendingDays;
+            this.rejectedDays = rejectedDays;
+        }
+
+        public int size() {
+            return employees.size();
+        }
+
+        public Employee getEmployee(int index) {
+            return employees.get(index);
+        }
+
+        public int getApprovedDays(int index) {
+            return approvedDays[index];
+        }
+
+        public int getPendingDays(int index) {
+            return pendingDays[index];
+        }
+
+        public int getRejectedDays(int index) {
+            return rejectedDays[index];
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.semihtemiz.pms.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ *numaralı anlık görüntüler
+ *
+ *her anlık görüntü data/snapshots/<sıra no> dizinidir:
+ *veri dosyalarının o anki kopyaları
+ *manifest.json: günlük sıra numarası, her dosyanın boyutu ve crc32 değeri
+ *
+ *kopyalar canlı dosyalardan bağımsızdır (canlı dosyanın bozulması kopyayı etkilemez)
+ *önceki anlık görüntüden beri değişmeyen dosyalar kopyalanmaz, önceki
+ *anlık görüntüdeki kopyaya sabit bağlantı verilir (desteklenmiyorsa kopyalanır)
+ *dizin önce .tmp adıyla hazırlanır, manifest yazıldıktan sonra
+ *yerine taşınır; manifesti okunamayan dizin geçersiz sayılır
+ *
+ *oluşturma g/ç iş parçacığında, geri yükleme dosya okunamadığında yapılır
+ */
+public class SnapshotStore {
+    //manifest dosyası adı
+    private static final String MANIFEST_FILE = "manifest.json";
+
+    //hazırlanmakta olan anlık görüntü uzantısı
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    //veri dizini (dosya yolları buna göre yazılır)
+    private final File dataDirectory;
+
+    //anlık görüntülerin dizini
+    private final File directory;
+
+    //manifest için json dönüştürücü
+    private final ObjectMapper objectMapper;
+
+    //saklanacak anlık görüntü sayısı
+    private final int retain;
+
+    //dosya yolu -> son anlık görüntüdeki crc (değişmeyen dosyalar tekrar okunmaz)
+    private final Map<String, Checksum> checksums = new HashMap<>();
+
+    //bu oturumda oluşturulan son anlık görüntü (yoksa null)
+    private File latest;
+
+    /**
+     * @param dataDirectory veri dizini
+     * @param directory anlık görüntülerin dizini
+     * @param objectMapper ortak json dönüştürücü
+     * @param retain saklanacak anlık görüntü sayısı (en az 1)
+     */
+    public SnapshotStore(File dataDirectory, File directory, ObjectMapper objectMapper, int retain) {
+        this.dataDirectory = dataDirectory;
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.retain = Math.max(1, retain);
+    }
+
+    /**
+     *en yeni geçerli anlık görüntünün sıra numarası
+     *
+     *yalnızca manifestler okunur, veri dosyaları açılışta doğrulanmaz
+     *
+     * @return sıra numarası veya anlık görüntü yoksa 0
+     */
+    public long latestSequence() {
+        for (File snapshot : snapshots()) {
+            JsonNode manifest = readManifest(snapshot);
+            if (manifest != null) {
+                return manifest.path("sequence").asLong();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     *yeni anlık görüntü oluşturma
+     *
+     * @param sequence anlık görüntüye dahil son günlük sıra numarası
+     * @param files veri dizinindeki dosyalar
+     * @throws IOException anlık görüntü yazılamazsa
+     */
+    public void create(long sequence, List<File> files) throws IOException {
+        File target = new File(directory, name(sequence));
+        File staging = new File(directory, name(sequence) + TEMP_SUFFIX);
+        deleteRecursively(staging);
+        staging.mkdirs();
+
+        ObjectNode manifest = objectMapper.createObjectNode();
+        manifest.put("sequence", sequence);
+        manifest.put("created", LocalDateTime.now().toString());
+        ObjectNode entries = manifest.putObject("files");
+        Map<String, Checksum> current = new HashMap<>();
+        for (File file : files) {
+            String path = relativePath(file);
+            File copy = new File(staging, path);
+            copy.getParentFile().mkdirs();
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+
+            Checksum checksum = checksums.get(path);
+            File previous = latest != null ? new File(latest, path) : null;
+            if (checksum != null && checksum.matches(attributes) && previous.exists()) {
+                //değişmeyen dosya önceki kopyayla paylaşılır
+                link(previous.toPath(), copy.toPath());
+            } else {
+                Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                checksum = new Checksum(attributes, crc(copy.toPath()));
+            }
+            current.put(path, checksum);
+            entries.putObject(path)
+                    .put("length", checksum.length)
+                    .put("crc32", checksum.crc);
+        }
+        AtomicFiles.writeValue(new File(staging, MANIFEST_FILE), objectMapper.writer(), manifest);
+
+        deleteRecursively(target);
+        try {
+            Files.move(staging.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(staging.toPath(), target.toPath());
+        }
+        checksums.clear();
+        checksums.putAll(current);
+        latest = target;
+        prune();
+    }
+
+    /**
+     *bozuk veri dosyasını anlık görüntüden geri yükleme
+     *
+     *en yeniden eskiye, crc değeri manifestle eşleşen ilk kopya kullanılır
+     *
+     * @param file okunamayan veri dosyası
+     * @return geri yüklendiyse true
+     */
+    public boolean restore(File file) {
+        String path = relativePath(file);
+        boolean newest = true;
+        for (File snapshot : snapshots()) {
+            JsonNode manifest = readManifest(snapshot);
+            if (manifest == null) {
+                continue;
+            }
+            JsonNode entry = manifest.path("files").get(path);
+            File copy = new File(snapshot, path);
+            if (entry != null && copy.exists()) {
+                try {
+                    if (copy.length() == entry.path("length").asLong()
+                            && crc(copy.toPath()) == entry.path("crc32").asLong()) {
+                        AtomicFiles.writeBytes(file, Files.readAllBytes(copy.toPath()));
+                        System.err.println(path + " anlık görüntüden geri yüklendi (sıra "
+                                + manifest.path("sequence").asLong() + ")"
+                                + (newest ? "" : ", son anlık görüntüden sonraki değişiklikler kayıp"));
+                        return true;
+                    }
+                    System.err.println("anlık görüntü kopyası bozuk: " + snapshot.getName() + "/" + path);
+                } catch (IOException e) {
+                    System.err.println("anlık görüntü okunamadı: " + snapshot.getName() + "/" + path);
+                }
+            }
+            newest = false;
+        }
+        return false;
+    }
+
+    /**
+     * @return geçerli adlı anlık görüntü dizinleri (en yeni önce)
+     */
+    private List<File> snapshots() {
+        File[] dirs = directory.listFiles(file -> file.isDirectory() && !file.getName().endsWith(TEMP_SUFFIX));
+        if (dirs == null) {
+            return Collections.emptyList();
+        }
+        List<File> snapshots = new ArrayList<>();
+        for (File dir : dirs) {
+            if (dir.getName().chars().allMatch(Character::isDigit)) {
+                snapshots.add(dir);
+            }
+        }
+        //sabit genişlikli adlar, metin sırası sayı sırasıyla aynı
+        snapshots.sort(Collections.reverseOrder());
+        return snapshots;
+    }
+
+    private JsonNode readManifest(File snapshot) {
+        File manifest = new File(snapshot, MANIFEST_FILE);
+        if (!manifest.exists()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(manifest);
+        } catch (IOException e) {
+            System.err.println("anlık görüntü manifesti okunamadı: " + snapshot.getName());
+            return null;
+        }
+    }
+
+    /**
+     *eski ve yarım kalmış anlık görüntüleri silme
+     */
+    private void prune() {
+        List<File> snapshots = snapshots();
+        for (int i = retain; i < snapshots.size(); i++) {
+            deleteRecursively(snapshots.get(i));
+        }
+        File[] staging = directory.listFiles(file -> file.getName().endsWith(TEMP_SUFFIX));
+        if (staging != null) {
+            for (File dir : staging) {
+                deleteRecursively(dir);
+            }
+        }
+    }
+
+    private static long crc(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     *sabit bağlantı, desteklenmiyorsa kopya
+     *
+     *anlık görüntü kopyaları hiç değiştirilmediğinden paylaşılabilir
+     */
+    private static void link(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private String relativePath(File file) {
+        return dataDirectory.getAbsoluteFile().toPath()
+                .relativize(file.getAbsoluteFile().toPath())
+                .toString().replace(File.separatorChar, '/');
+    }
+
+    private static String name(long sequence) {
+        return String.format("%020d", sequence);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (file.exists() && !file.delete()) {
+            System.err.println("silinemedi: " + file.getPath());
+        }
+    }
+
+    /**
+     *canlı dosyanın kopyalandığı andaki kimliği ve crc değeri
+     */
+    private static final class Checksum {
+        private final Object key;
+        private final long length;
+        private final long modified;
+        private final long crc;
+
+        private Checksum(BasicFileAttributes attributes, long crc) {
+            this.key = attributes.fileKey();
+            this.length = attributes.size();
+            this.modified = attributes.lastModifiedTime().toMillis();
+            this.crc = crc;
+        }
+
+        /**
+         * @return canlı dosya o zamandan beri değişmediyse true
+         *         (dosya kimliği bilinmeyen sistemlerde her zaman false)
+         */
+        private boolean matches(BasicFileAttributes attributes) {
+            return key != null && key.equals(attributes.fileKey())
+                    && length == attributes.size()
+                    && modified == attributes.lastModifiedTime().toMillis();
+        }
+    }
+}
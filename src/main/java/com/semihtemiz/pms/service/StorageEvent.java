@@ -0,0 +1,83 @@
+package com.semihtemiz.pms.service;
+
+/**
+ *depodaki tek bir değişiklik
+ *
+ *eklenen, güncellenen veya silinen kayıt
+ *toplu değişikliklerde (koleksiyonu temizleme, personelle birlikte
+ *kayıtlarını silme) kayıt yerine koleksiyonun yeniden okunması gerektiği bildirilir
+ */
+public class StorageEvent {
+
+    /**
+     *değişiklik türleri
+     *
+     *inserted: yeni kayıt
+     *updated: mevcut kaydın yeni hali (önceki hali de verilir)
+     *deleted: silinen kayıt
+     *reloaded: çok sayıda kayıt değişti, koleksiyon yeniden okunmalı
+     */
+    public enum Type {
+        INSERTED,
+        UPDATED,
+        DELETED,
+        RELOADED
+    }
+
+    private final Type type;
+    private final DataCollection collection;
+    private final Object item;
+    private final Object previous;
+
+    private StorageEvent(Type type, DataCollection collection, Object item, Object previous) {
+        this.type = type;
+        this.collection = collection;
+        this.item = item;
+        this.previous = previous;
+    }
+
+    static StorageEvent inserted(DataCollection collection, Object item) {
+        return new StorageEvent(Type.INSERTED, collection, item, null);
+    }
+
+    static StorageEvent updated(DataCollection collection, Object previous, Object item) {
+        return new StorageEvent(Type.UPDATED, collection, item, previous);
+    }
+
+    static StorageEvent deleted(DataCollection collection, Object item) {
+        return new StorageEvent(Type.DELETED, collection, item, null);
+    }
+
+    static StorageEvent reloaded(DataCollection collection) {
+        return new StorageEvent(Type.RELOADED, collection, null, null);
+    }
+
+    /**
+     * @return eklemede yeni kayıt yoksa güncellemede önceki kayıtla birlikte
+     */
+    static StorageEvent saved(DataCollection collection, Object previous, Object item) {
+        return previous != null ? updated(collection, previous, item) : inserted(collection, item);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public DataCollection getCollection() {
+        return collection;
+    }
+
+    /**
+     * @return eklenen, güncellenen (yeni hali) veya silinen kayıt; reloaded için null
+     */
+    public Object getItem() {
+        return item;
+    }
+
+    /**
+     * @return güncellenen kaydın önceki hali; diğer türlerde null
+     */
+    public Object getPrevious() {
+        return previous;
+    }
+}
@@ -0,0 +1,14 @@
+package com.semihtemiz.pms.service;
+
+/**
+ *depolama katmanı hatası
+ *
+ *kontrol edilen veritabanı hatalarını servis arayüzünden geçirmek için
+ */
+public class StorageException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
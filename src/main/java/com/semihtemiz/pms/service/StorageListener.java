@@ -0,0 +1,16 @@
+package com.semihtemiz.pms.service;
+
+/**
+ *depo değişikliklerini dinleyen bileşen
+ *
+ *değişikliği yapan iş parçacığında ve değişiklik sırasıyla çağrılır;
+ *kısa sürmeli, depoya yazmamalı (arayüz güncellemesi edt'ye aktarılmalı)
+ */
+@FunctionalInterface
+public interface StorageListener {
+
+    /**
+     * @param event değişiklik
+     */
+    void storageChanged(StorageEvent event);
+}
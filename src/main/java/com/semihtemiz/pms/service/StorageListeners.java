@@ -0,0 +1,32 @@
+package com.semihtemiz.pms.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ *servislerin ortak dinleyici listesi
+ *
+ *dinleyici ekleme nadir, bildirim sık olduğundan kopyalayarak yazan liste kullanılır
+ *dinleyicinin hatası depoyu etkilemez, yalnızca hata çıktısına yazılır
+ */
+final class StorageListeners {
+    private final List<StorageListener> listeners = new CopyOnWriteArrayList<>();
+
+    void add(StorageListener listener) {
+        listeners.add(listener);
+    }
+
+    void remove(StorageListener listener) {
+        listeners.remove(listener);
+    }
+
+    void publish(StorageEvent event) {
+        for (StorageListener listener : listeners) {
+            try {
+                listener.storageChanged(event);
+            } catch (RuntimeException e) {
+                System.err.println("değişiklik dinleyicisi hatası: " + e.getMessage());
+            }
+        }
+    }
+}
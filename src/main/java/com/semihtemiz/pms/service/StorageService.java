@@ -0,0 +1,78 @@
+package com.semihtemiz.pms.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ *uygulamanın kullandığı veri deposu
+ *
+ *personel, giriş/çıkış ve izin depolarını tek serviste birleştirir
+ *
+ *depolama türü -Dpms.storage ile seçilir:
+ *json (varsayılan) - data dizinindeki json dosyaları ({@link DataStorageService})
+ *h2 - gömülü sql veritabanı dosyası ({@link JdbcStorageService})
+ */
+public interface StorageService extends EmployeeRepository, TimeEntryRepository, LeaveRequestRepository {
+
+    /**
+     *ayarlara göre depolama servisini açma
+     *
+     * @return açılmış servis
+     * @throws IllegalArgumentException depolama türü tanınmazsa
+     */
+    static StorageService open() {
+        String storage = System.getProperty("pms.storage", "json");
+        switch (storage) {
+            case "json":
+                return new DataStorageService();
+            case "h2":
+                return new JdbcStorageService();
+            default:
+                throw new IllegalArgumentException("tanınmayan depolama türü: " + storage);
+        }
+    }
+
+    /**
+     * @return tüm koleksiyonlar okunmaya hazır olunca tamamlanan future
+     */
+    CompletableFuture<Void> whenLoaded();
+
+    /**
+     *tek koleksiyonun yüklenmesi
+     *
+     *personel bilgileri servis açılırken yüklenir, giriş ekranı yalnızca onlara
+     *ihtiyaç duyar; diğer ekranlar kendi koleksiyonunu bu future ile bekler
+     *
+     * @param collection beklenecek koleksiyon
+     * @return koleksiyon okunmaya hazır olunca tamamlanan future
+     */
+    CompletableFuture<Void> whenLoaded(DataCollection collection);
+
+    /**
+     * @return bekleyen tüm değişiklikler kalıcı olunca tamamlanan future
+     */
+    CompletableFuture<Void> flush();
+
+    /**
+     *tüm verileri kalıcı hale getirme (anlık görüntü)
+     */
+    void saveData();
+
+    CompletableFuture<Void> saveDataAsync();
+
+    /**
+     *değişiklik dinleyicisi ekleme
+     *
+     *her ekleme, güncelleme ve silmede bellek (veya veritabanı) güncellendikten
+     *sonra dinleyiciye tek kayıtlık değişiklik bildirilir
+     *
+     * @param listener dinleyici
+     */
+    void addStorageListener(StorageListener listener);
+
+    void removeStorageListener(StorageListener listener);
+
+    /**
+     *servisi kapatma, birden fazla çağrılabilir
+     */
+    void close();
+}
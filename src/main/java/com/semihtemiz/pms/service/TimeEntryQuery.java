@@ -0,0 +1,135 @@
+package com.semihtemiz.pms.service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+import com.semihtemiz.pms.model.TimeEntry;
+
+/**
+ *giriş/çıkış kayıtları sayfa sorgusu
+ *
+ *boş bırakılan filtre uygulanmaz
+ *giriş zamanı olmayan kayıtlar sonuca dahil edilmez
+ *imleç verilirse konum yok sayılır
+ */
+public class TimeEntryQuery {
+    //varsayılan sayfa boyutu
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     *sıralama: giriş zamanı, eşitlikte kayıt id
+     */
+    public enum Sort {
+        CHECK_IN_ASC,
+        CHECK_IN_DESC
+    }
+
+    //filtreler
+    private String employeeId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    //sıralama ve sayfa
+    private Sort sort = Sort.CHECK_IN_DESC;
+    private int offset;
+    private String cursor;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * @param startDate giriş günü için alt sınır (dahil)
+     */
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * @param endDate giriş günü için üst sınır (dahil)
+     */
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public void setSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public boolean isDescending() {
+        return sort == Sort.CHECK_IN_DESC;
+    }
+
+    /**
+     *kaydın sonuçta yer alıp almadığı
+     *
+     *sayfayı yeniden okumadan değişen kaydı yerleştirmek için
+     *
+     * @param entry kayıt
+     * @return kayıt filtrelere uyuyorsa true
+     */
+    public boolean matches(TimeEntry entry) {
+        if (entry.getCheckInEpochSecond() == TimeEntry.NONE) {
+            return false;
+        }
+        if (employeeId != null && !employeeId.equals(entry.getEmployeeId())) {
+            return false;
+        }
+        long day = ColumnarTimeEntries.epochDay(entry.getCheckInEpochSecond());
+        return (startDate == null || day >= startDate.toEpochDay()) && (endDate == null || day <= endDate.toEpochDay());
+    }
+
+    /**
+     * @return sonuç sırası (giriş zamanı saniye hassasiyetinde, eşitlikte id)
+     */
+    public Comparator<TimeEntry> comparator() {
+        Comparator<TimeEntry> ascending = Comparator
+                .comparingLong(TimeEntry::getCheckInEpochSecond)
+                .thenComparing(TimeEntry::getId);
+        return isDescending() ? ascending.reversed() : ascending;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = Math.max(0, offset);
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @param cursor önceki sayfanın {@link Page#getNextCursor()} değeri
+     */
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+    }
+}
@@ -0,0 +1,101 @@
+package com.semihtemiz.pms.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.semihtemiz.pms.model.TimeEntry;
+
+/**
+ *giriş/çıkış kayıtları deposu
+ *
+ *bir personelin en fazla bir açık (çıkışı yapılmamış) kaydı olabilir,
+ *ikinci açık kayıt IllegalStateException ile reddedilir
+ */
+public interface TimeEntryRepository {
+
+    /**
+     * @throws IllegalStateException personelin zaten açık giriş kaydı varsa
+     */
+    void addTimeEntry(TimeEntry timeEntry);
+
+    /**
+     *açık kayıt kontrolü çağıran iş parçacığında yapılır
+     *
+     * @throws IllegalStateException personelin zaten açık giriş kaydı varsa
+     */
+    CompletableFuture<Void> addTimeEntryAsync(TimeEntry timeEntry);
+
+    /**
+     *kayıt yoksa hiçbir şey yapılmaz
+     *
+     * @throws IllegalStateException kayıt açılıyor ve personelin başka açık kaydı varsa
+     */
+    void updateTimeEntry(TimeEntry timeEntry);
+
+    /**
+     *kayıt yoksa hiçbir şey yapılmaz, future hatasız tamamlanır
+     *açık kayıt kontrolü çağıran iş parçacığında yapılır
+     *
+     * @throws IllegalStateException kayıt açılıyor ve personelin başka açık kaydı varsa
+     */
+    CompletableFuture<Void> updateTimeEntryAsync(TimeEntry timeEntry);
+
+    /**
+     * @return personelin çıkışı yapılmamış kaydı veya null
+     */
+    TimeEntry getOpenEntry(String employeeId);
+
+    /**
+     *personelin açık kaydına çıkış zamanı yazma
+     *
+     * @return kapatılan kayıt veya açık kayıt yoksa null
+     */
+    TimeEntry checkOut(String employeeId, LocalDateTime time);
+
+    /**
+     * @return kapatılan kayıtla (açık kayıt yoksa null ile) tamamlanan future
+     */
+    CompletableFuture<TimeEntry> checkOutAsync(String employeeId, LocalDateTime time);
+
+    /**
+     * @return personelin giriş zamanına göre sıralı tüm kayıtları (değiştirilemez)
+     */
+    List<TimeEntry> getTimeEntriesByEmployeeId(String employeeId);
+
+    /**
+     * @return personelin giriş tarihi aralıkta olan, giriş zamanına göre sıralı kayıtları
+     */
+    List<TimeEntry> getTimeEntriesByEmployeeId(String employeeId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * @return giriş tarihi aralıkta olan kayıtlar
+     */
+    List<TimeEntry> getTimeEntriesByDateRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     *giriş tarihi aralıkta olan kayıtları nesne oluşturmadan tarama
+     *
+     * @param visitor her kayıt için çağrılır
+     */
+    void scanTimeEntries(LocalDate startDate, LocalDate endDate, TimeEntryVisitor visitor);
+
+    /**
+     * @return tüm kayıtların değiştirilemez anlık görüntüsü
+     */
+    List<TimeEntry> getAllTimeEntries();
+
+    void clearTimeEntries();
+
+    /**
+     *filtreli ve sıralı sayfa sorgusu
+     *
+     *yalnızca istenen sayfanın kayıtları oluşturulur
+     *
+     * @param query filtre, sıralama ve sayfa bilgisi
+     * @return sayfa ve filtreye uyan toplam kayıt sayısı
+     * @throws IllegalArgumentException imleç geçersizse
+     */
+    Page<TimeEntry> findTimeEntries(TimeEntryQuery query);
+}
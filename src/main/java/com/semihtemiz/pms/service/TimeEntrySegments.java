@@ -0,0 +1,615 @@
+package com.semihtemiz.pms.service;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.semihtemiz.pms.model.TimeEntry;
+
+/**
+ *aylık parçalara bölünmüş giriş/çıkış kayıtları
+ *
+ *her ay ayrı dosya (ör. data/time_entries/2026-10.json, biçime göre .smile/.cbor)
+ *hangi ayların belleğe yüklendiği ve hangilerinin değiştiği takibi
+ *kayıt id -> ay ve ay -> kayıt id indeksleri
+ *açık kayıt içeren aylar için küçük indeks dosyası (index.json)
+ *kapanmış aylar için json'dan türetilen sütunlu kopya (ör. 2026-09.1a2b3c4d.bin,
+ *adında kaynak dosyanın crc32 değeri)
+ *tek dosyalık eski düzenden (time_entries.json) taşıma
+ *
+ *iş parçacığı güvenli değildir, servis kilidi altında kullanılır
+ */
+public class TimeEntrySegments {
+    //indeks dosyası adı
+    private static final String INDEX_FILE = "index.json";
+
+    //giriş zamanı olmayan kayıtların ayı
+    private static final YearMonth UNDATED = YearMonth.of(1970, 1);
+
+    //parça dosyalarının dizini
+    private final File directory;
+
+    //indeks dosyası için json dönüştürücü
+    private final ObjectMapper objectMapper;
+
+    //ay dosyalarının biçimi, dönüştürücüsü ve okuyucusu
+    private final DataFormat format;
+    private final ObjectMapper fileMapper;
+    private final ObjectReader entryReader;
+
+    //ay -> o aydaki kayıt id'leri (bilinen tüm aylar, yüklenmemişler boş)
+    private final Map<YearMonth, Set<String>> monthIds = new TreeMap<>();
+
+    //kayıt id -> ay (yalnızca yüklenmiş kayıtlar)
+    private final Map<String, YearMonth> idMonths = new HashMap<>();
+
+    //belleğe yüklenmiş aylar
+    private final Set<YearMonth> loadedMonths = new TreeSet<>();
+
+    //son yazmadan bu yana değişen aylar
+    private final Set<YearMonth> dirtyMonths = new TreeSet<>();
+
+    //ay -> değişmiş işaretlenme sayacı (yazma sırasında gelen değişikliği ayırt etmek için)
+    private final Map<YearMonth, Long> dirtyCounts = new HashMap<>();
+
+    //ay -> ay dosyasının crc32 değeri (bu süreçte yazılan veya okunan)
+    private final Map<YearMonth, Long> checksums = new HashMap<>();
+
+    //ay -> değişiklik sayacı (aya göre önbelleğe alınan sonuçların geçerliliği için)
+    private final Map<YearMonth, Long> modCounts = new HashMap<>();
+
+    //ay -> eşlenmiş sütunlu kopya
+    private final Map<YearMonth, ColumnarTimeEntries> columnar = new HashMap<>();
+
+    //dizin açıldı (eski dosya taşındıktan sonra), yazmalara izin var
+    private boolean opened;
+
+    //indeks dosyasından okunan açık kayıt içeren aylar (indeks yoksa null)
+    private Set<YearMonth> openMonths;
+
+    /**
+     * @param directory parça dosyalarının dizini
+     * @param objectMapper ortak json dönüştürücü
+     * @param format ay dosyalarının biçimi
+     */
+    public TimeEntrySegments(File directory, ObjectMapper objectMapper, DataFormat format) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.format = format;
+        this.fileMapper = format.mapper();
+        this.entryReader = fileMapper.readerFor(TimeEntry.class);
+    }
+
+    /**
+     * @param entry giriş/çıkış kaydı
+     * @return kaydın ait olduğu ay (giriş zamanına göre)
+     */
+    public static YearMonth monthOf(TimeEntry entry) {
+        return entry.getCheckIn() != null ? YearMonth.from(entry.getCheckIn()) : UNDATED;
+    }
+
+    /**
+     *tek dosyalık eski düzeni aylık parçalara taşıma
+     *
+     *parçalar önce geçici dizine yazılır, dizin tek adımda yerine taşınır
+     *eski dosya .migrated uzantısıyla yedek olarak bırakılır
+     *
+     * @param legacyFile eski time_entries.json
+     * @throws IOException taşıma yapılamazsa
+     */
+    public void migrate(File legacyFile) throws IOException {
+        if (directory.exists() || !legacyFile.exists()) {
+            return;
+        }
+        checksums.clear();
+        columnar.clear();
+
+        Map<YearMonth, List<TimeEntry>> months = new TreeMap<>();
+        if (legacyFile.length() > 0) {
+            readEntries(legacyFile, objectMapper.readerFor(TimeEntry.class),
+                    entry -> months.computeIfAbsent(monthOf(entry), key -> new ArrayList<>()).add(entry));
+        }
+
+        File staging = new File(directory.getPath() + ".tmp");
+        staging.mkdirs();
+        Set<YearMonth> open = new TreeSet<>();
+        for (Map.Entry<YearMonth, List<TimeEntry>> month : months.entrySet()) {
+            AtomicFiles.writeValue(format.file(staging, month.getKey().toString()), fileMapper.writer(),
+                    month.getValue());
+            for (TimeEntry entry : month.getValue()) {
+                if (entry.getCheckOut() == null) {
+                    open.add(month.getKey());
+                }
+            }
+        }
+        AtomicFiles.writeValue(new File(staging, INDEX_FILE), objectMapper.writer(),
+                Collections.singletonMap("openMonths", open));
+
+        Files.move(staging.toPath(), directory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        Files.move(legacyFile.toPath(), new File(legacyFile.getPath() + ".migrated").toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("giriş/çıkış kayıtları " + months.size() + " aylık dosyaya taşındı");
+    }
+
+    /**
+     *tek dosyalık eski düzeni taşımadan okuma (salt okunur açılış için)
+     *
+     * @param legacyFile eski time_entries.json
+     * @param consumer her kayıt için çağrılır
+     * @throws IOException dosya okunamazsa
+     */
+    public void readLegacy(File legacyFile, Consumer<TimeEntry> consumer) throws IOException {
+        if (legacyFile.exists() && legacyFile.length() > 0) {
+            readEntries(legacyFile, objectMapper.readerFor(TimeEntry.class), consumer);
+        }
+    }
+
+    /**
+     *diskteki ayları ve açık ay indeksini okuma
+     *
+     *migrate başarıyla bittikten sonra çağrılır; dizin burada oluşturulur
+     *
+     * @throws IOException indeks okunamazsa
+     */
+    public void open() throws IOException {
+        directory.mkdirs();
+        opened = true;
+        scan(true);
+    }
+
+    /**
+     *diskteki ayları dosyalara dokunmadan okuma
+     *
+     *dizin oluşturulmaz, başka biçimdeki aylar taşınmadan okunur,
+     *yazmalar reddedilir (bkz. readLegacy)
+     *
+     * @throws IOException indeks okunamazsa
+     */
+    public void openReadOnly() throws IOException {
+        scan(false);
+    }
+
+    private void scan(boolean migrateFormats) throws IOException {
+        File[] files = directory.listFiles((dir, name) -> !name.equals(INDEX_FILE));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                int dot = name.lastIndexOf('.');
+                if (dot < 0 || !isMonthExtension(name.substring(dot + 1))) {
+                    continue;
+                }
+                String extension = name.substring(dot + 1);
+                try {
+                    YearMonth month = YearMonth.parse(name.substring(0, dot));
+                    //başka biçimde kayıtlı ayı seçili biçime taşı
+                    if (migrateFormats && !extension.equals(format.getExtension())) {
+                        format.migrate(directory, month.toString(), TimeEntry.class);
+                    }
+                    monthIds.putIfAbsent(month, new LinkedHashSet<>());
+                } catch (DateTimeParseException e) {
+                    System.err.println("tanınmayan dosya atlandı: " + name);
+                }
+            }
+        }
+
+        File indexFile = new File(directory, INDEX_FILE);
+        if (indexFile.exists() && indexFile.length() > 0) {
+            try {
+                Set<YearMonth> months = new TreeSet<>();
+                for (JsonNode month : objectMapper.readTree(indexFile).path("openMonths")) {
+                    months.add(YearMonth.parse(month.asText()));
+                }
+                openMonths = months;
+            } catch (IOException | DateTimeParseException e) {
+                //indeks yokmuş gibi tüm aylar yüklenir
+                System.err.println("ay indeksi okunamadı, tüm aylar yüklenecek: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     *açılışta yüklenecek aylar
+     *
+     *içinde bulunulan ay ve açık kayıt içeren aylar,
+     *indeks yoksa (ör. bozuk/silinmiş) güvenli tarafta kalmak için tüm aylar
+     *
+     * @param current içinde bulunulan ay
+     * @return yüklenecek aylar
+     */
+    public Set<YearMonth> startupMonths(YearMonth current) {
+        Set<YearMonth> months = new TreeSet<>();
+        months.add(current);
+        months.addAll(openMonths != null ? openMonths : monthIds.keySet());
+        return months;
+    }
+
+    /**
+     * @return bilinen tüm aylar (sıralı)
+     */
+    public Set<YearMonth> months() {
+        return Collections.unmodifiableSet(monthIds.keySet());
+    }
+
+    /**
+     * @return aralıkla kesişen bilinen aylar
+     */
+    public Set<YearMonth> months(YearMonth from, YearMonth to) {
+        Set<YearMonth> months = new TreeSet<>();
+        for (YearMonth month : monthIds.keySet()) {
+            if (!month.isBefore(from) && !month.isAfter(to)) {
+                months.add(month);
+            }
+        }
+        return months;
+    }
+
+    public boolean isLoaded(YearMonth month) {
+        return loadedMonths.contains(month);
+    }
+
+    /**
+     *bir ayın dosyasını okuma
+     *
+     *dosya yoksa hiçbir şey okunmaz, ay yine de yüklenmiş sayılır
+     *
+     * @param month okunacak ay
+     * @param consumer her kayıt için çağrılır
+     * @throws IOException dosya okunamazsa
+     */
+    public void load(YearMonth month, Consumer<TimeEntry> consumer) throws IOException {
+        monthIds.putIfAbsent(month, new LinkedHashSet<>());
+        //taşınmamış (başka biçimdeki) ay dosyası yalnızca salt okunur açılışta kalır
+        DataFormat source = format.existing(directory, month.toString());
+        File file = source.file(directory, month.toString());
+        if (file.exists() && file.length() > 0) {
+            readEntries(file, source == format ? entryReader : source.mapper().readerFor(TimeEntry.class),
+                    consumer);
+        }
+        loadedMonths.add(month);
+        modified(month);
+    }
+
+    /**
+     *kaydın ayını takip etme
+     *
+     *yeni veya değişen kayıt için çağrılır; kaydın ayı değiştiyse
+     *eski ay da değişmiş sayılır
+     *
+     * @param entry kayıt
+     * @param changed kayıt diskteki halinden farklıysa true
+     */
+    public void track(TimeEntry entry, boolean changed) {
+        YearMonth month = monthOf(entry);
+        YearMonth previous = idMonths.put(entry.getId(), month);
+        if (previous != null && !previous.equals(month)) {
+            monthIds.get(previous).remove(entry.getId());
+            dirty(previous);
+            modified(previous);
+        }
+        monthIds.computeIfAbsent(month, key -> new LinkedHashSet<>()).add(entry.getId());
+        if (changed) {
+            dirty(month);
+        }
+        modified(month);
+    }
+
+    /**
+     *silinen kaydı bırakma
+     *
+     * @param id kayıt id
+     */
+    public void untrack(String id) {
+        YearMonth month = idMonths.remove(id);
+        if (month != null) {
+            monthIds.get(month).remove(id);
+            dirty(month);
+            modified(month);
+        }
+    }
+
+    /**
+     *tüm kayıtları bırakma (tüm aylar boş yazılır)
+     *
+     *yüklenmemiş aylar da yüklenmiş sayılır, eski içerikleri geri gelmez
+     */
+    public void clear() {
+        idMonths.clear();
+        checksums.clear();
+        columnar.clear();
+        loadedMonths.addAll(monthIds.keySet());
+        for (Map.Entry<YearMonth, Set<String>> month : monthIds.entrySet()) {
+            month.getValue().clear();
+            dirty(month.getKey());
+            modified(month.getKey());
+        }
+    }
+
+    /**
+     *ayın değişiklik sayacı
+     *
+     *ay yüklendiğinde, kayıt eklendiğinde, değiştiğinde veya silindiğinde artar
+     *
+     * @return sayaç değeri (ay hiç değişmediyse 0)
+     */
+    public long modCount(YearMonth month) {
+        return modCounts.getOrDefault(month, 0L);
+    }
+
+    private void modified(YearMonth month) {
+        modCounts.merge(month, 1L, Long::sum);
+    }
+
+    /**
+     * @return ay son yazmadan bu yana değiştiyse true
+     */
+    public boolean isDirty(YearMonth month) {
+        return dirtyMonths.contains(month);
+    }
+
+    /**
+     *bir ayın sütunlu kopyasını getirme
+     *
+     *kopya yoksa veya başlığındaki crc32 ay dosyasınınkiyle uyuşmuyorsa
+     *ayın dosyası servise yüklenmeden okunup kopya yeniden üretilir
+     *yalnızca diske yazılmış (değişmemiş) aylar için anlamlıdır
+     *
+     *kopyanın adı kaynağın crc32 değerini taşır: yeni kopya eşlenmiş eski
+     *dosyanın üzerine yazılmaz, kilit dışında eski kopyayı tarayan
+     *okuyucular etkilenmez; eski sürümler yeni kopya açılınca silinir
+     *
+     * @param month istenen ay
+     * @return eşlenmiş sütunlu kopya
+     * @throws IOException dosya okunamaz veya yazılamazsa
+     */
+    public ColumnarTimeEntries columnar(YearMonth month) throws IOException {
+        File source = fileOf(month);
+        long checksum = checksumOf(month, source);
+        ColumnarTimeEntries cached = columnar.get(month);
+        if (cached != null && cached.isCurrent(checksum)) {
+            return cached;
+        }
+        columnar.remove(month);
+
+        File file = columnarFile(month, checksum);
+        cached = null;
+        if (file.exists()) {
+            try {
+                cached = ColumnarTimeEntries.open(file);
+            } catch (IOException e) {
+                //bozuk kopya yeniden üretilir
+                cached = null;
+            }
+        }
+        if (cached == null || !cached.isCurrent(checksum)) {
+            List<TimeEntry> entries = new ArrayList<>();
+            if (source.exists() && source.length() > 0) {
+                readEntries(source, entries::add);
+            }
+            ColumnarTimeEntries.write(file, entries, checksum);
+            cached = ColumnarTimeEntries.open(file);
+        }
+        columnar.put(month, cached);
+        deleteOldColumnar(month, file);
+        return cached;
+    }
+
+    private File columnarFile(YearMonth month, long checksum) {
+        return new File(directory, month + "." + String.format("%08x", checksum) + ".bin");
+    }
+
+    /**
+     *ayın eski sütunlu kopyalarını silme
+     *
+     *silinemeyen dosya (ör. windows'ta hâlâ eşlenmiş) sonraki yenilemede tekrar denenir
+     */
+    private void deleteOldColumnar(YearMonth month, File current) {
+        String prefix = month + ".";
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(".bin")
+                && !name.equals(current.getName()));
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     *ay dosyası dışarıdan değiştirildikten sonra çağrılır (ör. anlık görüntüden geri yükleme)
+     *
+     *ayın crc32 değeri ve sütunlu kopyası unutulur, ilk kullanımda yeniden hesaplanır
+     *
+     * @param month değişen ay
+     */
+    public void replaced(YearMonth month) {
+        checksums.remove(month);
+        columnar.remove(month);
+    }
+
+    /**
+     *ay dosyasının crc32 değeri
+     *
+     *bu süreçte yazılmamış ay için dosya bir kez okunur, sonra önbellekten verilir
+     *(veri dizinine yalnızca bu süreç yazar)
+     */
+    private long checksumOf(YearMonth month, File source) throws IOException {
+        Long cached = checksums.get(month);
+        if (cached != null) {
+            return cached;
+        }
+        CRC32 crc = new CRC32();
+        if (source.exists()) {
+            try (InputStream in = new CheckedInputStream(new FileInputStream(source), crc)) {
+                byte[] buffer = new byte[8192];
+                while (in.read(buffer) >= 0) {
+                    //okunan baytlar crc'ye eklenir
+                }
+            }
+        }
+        checksums.put(month, crc.getValue());
+        return crc.getValue();
+    }
+
+    /**
+     *aya bayat kayıt düştüğünü işaretleme (ör. başka aya taşınmış kaydın eski kopyası)
+     */
+    public void markDirty(YearMonth month) {
+        dirty(month);
+    }
+
+    private void dirty(YearMonth month) {
+        dirtyMonths.add(month);
+        dirtyCounts.merge(month, 1L, Long::sum);
+    }
+
+    /**
+     * @return ayın kayıt id'leri (ekleme sırasında)
+     */
+    public Set<String> idsOf(YearMonth month) {
+        Set<String> ids = monthIds.get(month);
+        return ids != null ? Collections.unmodifiableSet(ids) : Collections.emptySet();
+    }
+
+    /**
+     *değişen aylar
+     *
+     *aylar dosyaları yazılana kadar değişmiş kalır (bkz. written)
+     *
+     * @return yazılması gereken aylar ve değişmiş işaretlenme sayaçları
+     */
+    public Map<YearMonth, Long> dirtyMonths() {
+        Map<YearMonth, Long> months = new TreeMap<>();
+        for (YearMonth month : dirtyMonths) {
+            months.put(month, dirtyCounts.getOrDefault(month, 0L));
+        }
+        return months;
+    }
+
+    /**
+     *ay dosyası yazıldıktan sonra çağrılır
+     *
+     *dosyanın crc32 değeri kaydedilir; ay yazma sırasında tekrar
+     *değişmediyse değişmiş işareti kaldırılır
+     *
+     * @param month yazılan ay
+     * @param checksum yazılan dosyanın crc32 değeri
+     * @param dirtyCount kayıtlar kopyalanırken ayın değişmiş işaretlenme sayacı
+     */
+    public void written(YearMonth month, long checksum, long dirtyCount) {
+        checksums.put(month, checksum);
+        if (dirtyCounts.getOrDefault(month, 0L) == dirtyCount) {
+            dirtyMonths.remove(month);
+        }
+    }
+
+    /**
+     *bir ayı dosyaya atomik olarak yazma
+     *
+     *durum değiştirmez, kilit dışında çağrılabilir
+     *
+     * @param month yazılacak ay
+     * @param entries aydaki kayıtlar
+     * @return yazılan dosyanın crc32 değeri
+     * @throws IOException dosya yazılamazsa veya dizin açılmadıysa
+     */
+    public long write(YearMonth month, List<TimeEntry> entries) throws IOException {
+        checkOpened();
+        directory.mkdirs();
+        byte[] data = fileMapper.writeValueAsBytes(entries);
+        AtomicFiles.writeBytes(fileOf(month), data);
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    /**
+     *açık kayıt içeren aylar indeksini yazma
+     *
+     * @param months açık kayıt içeren aylar
+     * @throws IOException dosya yazılamazsa veya dizin açılmadıysa
+     */
+    public void writeIndex(Set<YearMonth> months) throws IOException {
+        checkOpened();
+        directory.mkdirs();
+        AtomicFiles.writeValue(new File(directory, INDEX_FILE), objectMapper.writer(),
+                Collections.singletonMap("openMonths", months));
+        openMonths = new TreeSet<>(months);
+    }
+
+    /**
+     *açılmamış dizine yazmayı reddetme
+     *
+     *taşınmamış eski dosya varken aylık dizin oluşturulmamalı
+     */
+    private void checkOpened() throws IOException {
+        if (!opened) {
+            throw new IOException("aylık giriş/çıkış dizini açılmadı");
+        }
+    }
+
+    /**
+     * @return diskteki ay dosyaları ve indeks (yüklenmemiş aylar dahil)
+     */
+    public List<File> files() {
+        String suffix = "." + format.getExtension();
+        File[] files = directory.listFiles((dir, name) -> name.equals(INDEX_FILE) || name.endsWith(suffix));
+        List<File> result = new ArrayList<>();
+        if (files != null) {
+            Collections.addAll(result, files);
+        }
+        return result;
+    }
+
+    /**
+     * @return ayın dosyası
+     */
+    public File fileOf(YearMonth month) {
+        return format.file(directory, month.toString());
+    }
+
+    private static boolean isMonthExtension(String extension) {
+        for (DataFormat known : DataFormat.values()) {
+            if (known.getExtension().equals(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void readEntries(File file, Consumer<TimeEntry> consumer) throws IOException {
+        readEntries(file, entryReader, consumer);
+    }
+
+    private static void readEntries(File file, ObjectReader reader, Consumer<TimeEntry> consumer) throws IOException {
+        try (JsonParser parser = reader.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("json dizisi bekleniyor: " + file.getName());
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                TimeEntry entry = reader.readValue(parser);
+                consumer.accept(entry);
+            }
+        }
+    }
+}
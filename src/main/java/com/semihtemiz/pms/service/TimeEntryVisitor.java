@@ -0,0 +1,19 @@
+package com.semihtemiz.pms.service;
+
+/**
+ *giriş/çıkış kayıtlarını nesne oluşturmadan gezme
+ *
+ *zamanlar utc epoch saniyesi olarak verilir (yerel saat utc gibi yorumlanır)
+ *çıkış yapılmamış kayıtlarda checkOut {@link ColumnarTimeEntries#OPEN} olur
+ */
+@FunctionalInterface
+public interface TimeEntryVisitor {
+
+    /**
+     * @param employeeId personel id
+     * @param checkIn giriş zamanı (epoch saniye)
+     * @param checkOut çıkış zamanı (epoch saniye) veya {@link ColumnarTimeEntries#OPEN}
+     * @param overtime fazla mesai durumu
+     */
+    void visit(String employeeId, long checkIn, long checkOut, boolean overtime);
+}
@@ -0,0 +1,149 @@
+package com.semihtemiz.pms.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import com.semihtemiz.pms.model.Employee;
+import com.semihtemiz.pms.service.DataCollection;
+import com.semihtemiz.pms.service.StorageEvent;
+import com.semihtemiz.pms.service.StorageListener;
+import com.semihtemiz.pms.service.StorageService;
+
+/**
+ *personel tablo modeli
+ *
+ *personel bellekte tutulduğundan sayfa sorgusu yerine servisin
+ *anlık görüntüsü kullanılır; satır dizisi üretilmez,
+ *hücre değeri tablo çizdiğinde kayıttan okunur
+ *yönetici hesapları listelenmez
+ *
+ *eklenen personel sona eklenir, güncellenen ve silinen personel
+ *satırında değiştirilir (listeyi yeniden okumadan)
+ */
+public class EmployeeTableModel extends AbstractTableModel implements StorageListener {
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMNS = {"ID", "Ad", "Soyad", "TC No", "Departman", "Pozisyon",
+            "E-posta", "Telefon", "Maaş", "İşe Başlama Tarihi"};
+
+    private final StorageService dataService;
+
+    //gösterilen personel
+    private List<Employee> employees = new ArrayList<>();
+
+    /**
+     * @param dataService veri depolama servisi
+     */
+    public EmployeeTableModel(StorageService dataService) {
+        this.dataService = dataService;
+    }
+
+    /**
+     *personel listesini yeniden okuma
+     */
+    public void refresh() {
+        employees = dataService.getAllEmployees().stream()
+                .filter(e -> e.getRole() != Employee.UserRole.ADMIN)
+                .collect(Collectors.toCollection(ArrayList::new));
+        fireTableDataChanged();
+    }
+
+    /**
+     *depo değişikliği (yazan iş parçacığında çağrılır, edt'ye aktarılır)
+     */
+    @Override
+    public void storageChanged(StorageEvent event) {
+        if (event.getCollection() == DataCollection.EMPLOYEES) {
+            SwingUtilities.invokeLater(() -> apply(event));
+        }
+    }
+
+    private void apply(StorageEvent event) {
+        if (event.getType() == StorageEvent.Type.RELOADED) {
+            refresh();
+            return;
+        }
+        Employee employee = (Employee) event.getItem();
+        int row = rowOf(employee.getId());
+        boolean shown = event.getType() != StorageEvent.Type.DELETED
+                && employee.getRole() != Employee.UserRole.ADMIN;
+        if (row >= 0 && shown) {
+            employees.set(row, employee);
+            fireTableRowsUpdated(row, row);
+        } else if (row >= 0) {
+            employees.remove(row);
+            fireTableRowsDeleted(row, row);
+        } else if (shown) {
+            employees.add(employee);
+            fireTableRowsInserted(employees.size() - 1, employees.size() - 1);
+        }
+    }
+
+    private int rowOf(String id) {
+        for (int i = 0; i < employees.size(); i++) {
+            if (employees.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param row satır
+     * @return satırdaki personel
+     */
+    public Employee getEmployee(int row) {
+        return employees.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return employees.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Employee employee = employees.get(row);
+        switch (column) {
+            case 0:
+                return employee.getId();
+            case 1:
+                return employee.getFirstName();
+            case 2:
+                return employee.getLastName();
+            case 3:
+                return employee.getTcNo();
+            case 4:
+                return employee.getDepartment();
+            case 5:
+                return employee.getPosition();
+            case 6:
+                return employee.getEmail();
+            case 7:
+                return employee.getPhone();
+            case 8:
+                return employee.getSalary();
+            default:
+                return employee.getStartDate();
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+}
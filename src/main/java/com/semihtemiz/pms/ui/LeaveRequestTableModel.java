@@ -0,0 +1,117 @@
+package com.semihtemiz.pms.ui;
+
+import java.awt.Component;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+
+import com.semihtemiz.pms.model.Employee;
+import com.semihtemiz.pms.model.LeaveRequest;
+import com.semihtemiz.pms.service.DataCollection;
+import com.semihtemiz.pms.service.LeaveRequestQuery;
+import com.semihtemiz.pms.service.Page;
+import com.semihtemiz.pms.service.StorageService;
+
+/**
+ *izin talepleri tablo modeli
+ *
+ *talepler en yeni başlangıç tarihi önce sıralanır
+ *personel id verilmezse (yönetici) tüm talepler talep id ve personel
+ *sütunlarıyla, verilirse personelin talepleri yönetici notuyla gösterilir
+ */
+public class LeaveRequestTableModel extends PagedTableModel<LeaveRequest> {
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] ALL_COLUMNS = {"ID", "Personel", "Başlangıç", "Bitiş", "Süre", "Neden", "Durum"};
+    private static final String[] EMPLOYEE_COLUMNS = {"Başlangıç", "Bitiş", "Süre", "Neden", "Durum", "Notlar"};
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private final StorageService dataService;
+
+    //gösterilen personel (tüm personel için null)
+    private final String employeeId;
+
+    //tablonun sorgusu (filtre ve sıra)
+    private final LeaveRequestQuery filter = new LeaveRequestQuery();
+    private final Comparator<LeaveRequest> order;
+
+    /**
+     * @param dataService veri depolama servisi
+     * @param employeeId gösterilecek personel id veya tüm personel için null
+     * @param parent hata mesajının gösterileceği bileşen
+     */
+    public LeaveRequestTableModel(StorageService dataService, String employeeId, Component parent) {
+        super(employeeId == null ? ALL_COLUMNS : EMPLOYEE_COLUMNS, DataCollection.LEAVE_REQUESTS, parent);
+        this.dataService = dataService;
+        this.employeeId = employeeId;
+        filter.setEmployeeId(employeeId);
+        order = filter.comparator();
+    }
+
+    @Override
+    protected Page<LeaveRequest> fetch(int offset, int pageSize) {
+        LeaveRequestQuery query = new LeaveRequestQuery();
+        query.setEmployeeId(employeeId);
+        query.setOffset(offset);
+        query.setPageSize(pageSize);
+        return dataService.findLeaveRequests(query);
+    }
+
+    @Override
+    protected boolean matches(LeaveRequest request) {
+        return filter.matches(request);
+    }
+
+    @Override
+    protected Comparator<LeaveRequest> order() {
+        return order;
+    }
+
+    @Override
+    protected String idOf(LeaveRequest request) {
+        return request.getId();
+    }
+
+    @Override
+    protected Object format(LeaveRequest request, int column) {
+        if (employeeId == null) {
+            switch (column) {
+                case 0:
+                    return request.getId();
+                case 1:
+                    Employee employee = dataService.getEmployeeById(request.getEmployeeId());
+                    return request.getEmployeeId() + " - " + (employee != null ?
+                            String.format("%s %s", employee.getFirstName(), employee.getLastName()) :
+                            "Bilinmeyen Personel");
+                case 6:
+                    return request.getStatus().getDisplayName();
+                default:
+                    return formatCommon(request, column - 2);
+            }
+        }
+        switch (column) {
+            case 4:
+                return request.getStatus().getDisplayName();
+            case 5:
+                return request.getApproverNotes() != null ? request.getApproverNotes() : "-";
+            default:
+                return formatCommon(request, column);
+        }
+    }
+
+    /**
+     *iki görünümde ortak sütunlar: başlangıç, bitiş, süre, neden
+     */
+    private Object formatCommon(LeaveRequest request, int column) {
+        switch (column) {
+            case 0:
+                return request.getStartDate().format(DATE_FORMATTER);
+            case 1:
+                return request.getEndDate().format(DATE_FORMATTER);
+            case 2:
+                return request.getDurationInDays() + " gün";
+            default:
+                return request.getReason();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.semihtemiz.pms.ui;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.time.LocalDate;
 
 import javax.swing.JButton;
@@ -15,7 +17,7 @@ import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 
 import com.semihtemiz.pms.model.Employee;
-import com.semihtemiz.pms.service.DataStorageService;
+import com.semihtemiz.pms.service.StorageService;
 
 /**
  *giriş ekranı
@@ -26,7 +28,7 @@ import com.semihtemiz.pms.service.DataStorageService;
  */
 public class LoginFrame extends JFrame {
     //veri depolama servisi
-    private final DataStorageService dataService;
+    private final StorageService dataService;
     
     //giriş alanları
     private final JTextField usernameField;
@@ -37,7 +39,7 @@ public class LoginFrame extends JFrame {
      *
      * @param dataService veri depolama servisi
      */
-    public LoginFrame(DataStorageService dataService) {
+    public LoginFrame(StorageService dataService) {
         this.dataService = dataService;
 
         //pencere özelliklerini ayarlama
@@ -47,6 +49,14 @@ public class LoginFrame extends JFrame {
         setLocationRelativeTo(null);
         setResizable(false);  //pencere boyutu değiştirilemez
 
+        //pencere kapanırken bekleyen değişiklikleri diske yaz
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                dataService.close();
+            }
+        });
+
         //ana panel ve grid düzeni
         JPanel mainPanel = new JPanel(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
@@ -115,14 +125,15 @@ public class LoginFrame extends JFrame {
         admin.setSalary(0.0);
         admin.setStartDate(LocalDate.now());
         admin.setVacationDays(0);
-        dataService.addEmployee(admin);
+        SwingFutures.reportFailure(dataService.addEmployeeAsync(admin), this);
     }
 
     /**
      *giriş işlemini gerçekleştirme
      *
      *kullanıcı adı ve şifre kontrolü
-     *başarılı girişte ana ekranı açma
+     *başarılı girişte ana ekranı açma (personel bilgileri yüklüdür,
+     *diğer kayıtları her ekran kendisi bekler)
      *başarısız girişte hata mesajı gösterme
      */
     private void handleLogin() {
@@ -135,7 +146,7 @@ public class LoginFrame extends JFrame {
             //başarılı giriş - ana ekranı aç
             MainFrame mainFrame = new MainFrame(dataService, employee);
             mainFrame.setVisible(true);
-            dispose();  
+            dispose();
         } else {
             //başarısız giriş - hata mesajı göster
             JOptionPane.showMessageDialog(this,
@@ -152,7 +163,7 @@ public class LoginFrame extends JFrame {
      */
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
-            DataStorageService dataService = new DataStorageService();
+            StorageService dataService = StorageService.open();
             LoginFrame loginFrame = new LoginFrame(dataService);
             loginFrame.setVisible(true);
         });
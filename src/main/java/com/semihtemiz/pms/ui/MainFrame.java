@@ -6,21 +6,24 @@ import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
+import javax.swing.JComponent;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -33,12 +36,15 @@ import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
-import javax.swing.table.DefaultTableModel;
 
 import com.semihtemiz.pms.model.Employee;
 import com.semihtemiz.pms.model.LeaveRequest;
 import com.semihtemiz.pms.model.TimeEntry;
-import com.semihtemiz.pms.service.DataStorageService;
+import com.semihtemiz.pms.service.DataCollection;
+import com.semihtemiz.pms.service.RecordIds;
+import com.semihtemiz.pms.service.StorageListener;
+import com.semihtemiz.pms.service.StorageService;
+import com.semihtemiz.pms.service.ReportService;
 import com.toedter.calendar.JDateChooser;
 
 /**
@@ -60,28 +66,35 @@ import com.toedter.calendar.JDateChooser;
  */
 public class MainFrame extends JFrame {
     //veri depolama servisi
-    private final DataStorageService dataService;
+    private final StorageService dataService;
+    
+    //yönetici rapor servisi
+    private final ReportService reportService;
     
     //aktif kullanıcı bilgisi
     private final Employee currentUser;
     
     //personel listesi tablosu
     private JTable employeeTable;
-    private DefaultTableModel employeeTableModel;
+    private EmployeeTableModel employeeTableModel;
     
     //giriş/çıkış kayıtları tablosu
     private JTable timeEntryTable;
-    private DefaultTableModel timeEntryTableModel;
+    private TimeEntryTableModel timeEntryTableModel;
     
     //izin talepleri tablosu
     private JTable leaveRequestTable;
+    private LeaveRequestTableModel leaveRequestTableModel;
+    
+    //tablo modellerinin depo dinleyicileri (oturum kapanınca kaldırılır)
+    private final List<StorageListener> storageListeners = new ArrayList<>();
     
     //çalışma süresi sayacı
     private Timer workTimer;
     private JLabel timerLabel;
     
-    // aktif giriş kaydı
-    private TimeEntry currentTimeEntry;
+    // aktif giriş kaydı (sayaç iş parçacığı da okur)
+    private volatile TimeEntry currentTimeEntry;
 
     /**
      *ana pencereyi oluşturma
@@ -90,8 +103,9 @@ public class MainFrame extends JFrame {
      * @param dataService veri depolama servisi
      * @param currentUser giriş yapan kullanıcı
      */
-    public MainFrame(DataStorageService dataService, Employee currentUser) {
+    public MainFrame(StorageService dataService, Employee currentUser) {
         this.dataService = dataService;
+        this.reportService = new ReportService(dataService);
         this.currentUser = currentUser;
 
         // Ana pencerenin varsayılan ayarları
@@ -100,6 +114,14 @@ public class MainFrame extends JFrame {
         setSize(800, 600);
         setLocationRelativeTo(null);
 
+        //pencere kapanırken bekleyen değişiklikleri diske yaz
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                dataService.close();
+            }
+        });
+
         // üst bilgi panelini oluşturma
         createHeaderPanel();
 
@@ -137,27 +159,26 @@ public class MainFrame extends JFrame {
             timerLabel = new JLabel("Çalışma Süresi: 00:00:00");
             headerPanel.add(timerLabel);
 
-            //aktif giriş kaydı kontrolü
-            List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
-            TimeEntry activeEntry = entries.stream()
-                    .filter(entry -> entry.getCheckOut() == null)
-                    .findFirst()
-                    .orElse(null);
+            //aktif giriş kaydı kontrolü (giriş/çıkış kayıtları yüklenince)
+            SwingFutures.onEdt(dataService.whenLoaded(DataCollection.TIME_ENTRIES), this,
+                    "Kayıtlar yüklenemedi: ", loaded -> {
+                TimeEntry activeEntry = dataService.getOpenEntry(currentUser.getId());
 
-            //aktif giriş varsa sayacı başlat
-            if (activeEntry != null) {
-                currentTimeEntry = activeEntry;
-                if (workTimer != null) {
-                    workTimer.cancel();
-                }
-                workTimer = new Timer();
-                workTimer.scheduleAtFixedRate(new TimerTask() {
-                    @Override
-                    public void run() {
-                        updateTimer();
+                //aktif giriş varsa sayacı başlat
+                if (activeEntry != null && currentTimeEntry == null) {
+                    currentTimeEntry = activeEntry;
+                    if (workTimer != null) {
+                        workTimer.cancel();
                     }
-                }, 0, 1000);
-            }
+                    workTimer = new Timer();
+                    workTimer.scheduleAtFixedRate(new TimerTask() {
+                        @Override
+                        public void run() {
+                            updateTimer();
+                        }
+                    }, 0, 1000);
+                }
+            });
         }
 
         //çıkış butonu
@@ -269,8 +290,9 @@ public class MainFrame extends JFrame {
      * @param value değer metni
      * @param labelFont etiket fontu
      * @param valueFont değer fontu
+     * @return değer etiketi
      */
-    private void addLabelAndValue(JPanel panel, GridBagConstraints gbc, int row,
+    private JLabel addLabelAndValue(JPanel panel, GridBagConstraints gbc, int row,
             String labelText, String value, Font labelFont, Font valueFont) {
         gbc.gridx = 0;
         gbc.gridy = row;
@@ -282,6 +304,7 @@ public class MainFrame extends JFrame {
         JLabel valueLabel = new JLabel(value);
         valueLabel.setFont(valueFont);
         panel.add(valueLabel, gbc);
+        return valueLabel;
     }
 
     /**
@@ -292,6 +315,8 @@ public class MainFrame extends JFrame {
      *kesintiler
      *toplam kazanç
      *
+     *mesaiye bağlı tutarlar giriş/çıkış kayıtları yüklenince doldurulur
+     *
      * @return kazanç bilgilerini içeren panel
      */
     private JPanel createEarningsPanel() {
@@ -323,17 +348,24 @@ public class MainFrame extends JFrame {
         addLabelAndValue(panel, gbc, row++, "Temel Maaş:",
             String.format("%.2f TL", currentUser.getSalary()), labelFont, valueFont);
 
-        double overtimeEarnings = calculateOvertimeEarnings();
-        addLabelAndValue(panel, gbc, row++, "Fazla Mesai Ücreti:",
-            String.format("%.2f TL", overtimeEarnings), labelFont, valueFont);
+        JLabel overtimeLabel = addLabelAndValue(panel, gbc, row++, "Fazla Mesai Ücreti:",
+            "...", labelFont, valueFont);
+        JLabel deductionsLabel = addLabelAndValue(panel, gbc, row++, "Kesintiler:",
+            "...", labelFont, valueFont);
+        JLabel totalLabel = addLabelAndValue(panel, gbc, row++, "Toplam Kazanç:",
+            "...", labelFont, valueFont);
 
-        double deductions = calculateDeductions();
-        addLabelAndValue(panel, gbc, row++, "Kesintiler:",
-            String.format("%.2f TL", deductions), labelFont, valueFont);
+        SwingFutures.onEdt(dataService.whenLoaded(DataCollection.TIME_ENTRIES), this,
+                "Kayıtlar yüklenemedi: ", loaded -> {
+            double overtimeEarnings = calculateOvertimeEarnings();
+            overtimeLabel.setText(String.format("%.2f TL", overtimeEarnings));
 
-        double totalSalary = currentUser.getSalary() + overtimeEarnings - deductions;
-        addLabelAndValue(panel, gbc, row++, "Toplam Kazanç:",
-            String.format("%.2f TL", totalSalary), labelFont, valueFont);
+            double deductions = calculateDeductions();
+            deductionsLabel.setText(String.format("%.2f TL", deductions));
+
+            double totalSalary = currentUser.getSalary() + overtimeEarnings - deductions;
+            totalLabel.setText(String.format("%.2f TL", totalSalary));
+        });
 
         mainPanel.add(panel, BorderLayout.WEST);
         return mainPanel;
@@ -350,8 +382,9 @@ public class MainFrame extends JFrame {
      */
     private double calculateOvertimeEarnings() {
         double overtimeHours = 0;
-        List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
         LocalDate today = LocalDate.now();
+        List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId(),
+                today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()));
 
         for (TimeEntry entry : entries) {
             if (entry.getCheckOut() != null &&
@@ -383,8 +416,9 @@ public class MainFrame extends JFrame {
      */
     private double calculateDeductions() {
         double missingHours = 0;
-        List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
         LocalDate today = LocalDate.now();
+        List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId(),
+                today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()));
 
         for (TimeEntry entry : entries) {
             if (entry.getCheckOut() != null &&
@@ -417,16 +451,9 @@ public class MainFrame extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
 
         //tablo modeli
-        String[] columns = {"Tarih", "Giriş Saati", "Çıkış Saati", "Çalışma Süresi", "Fazla Mesai"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-
-        timeEntryTableModel = model;
-        JTable table = new JTable(model);
+        timeEntryTableModel = new TimeEntryTableModel(dataService, currentUser.getId(), this);
+        listen(timeEntryTableModel);
+        timeEntryTable = new JTable(timeEntryTableModel);
         refreshTimeEntryTable();
 
         //giriş/çıkış butonları
@@ -441,69 +468,58 @@ public class MainFrame extends JFrame {
 
         startDayButton.addActionListener(e -> handleCheckIn());
         endDayButton.addActionListener(e -> handleCheckOut());
+        enableWhenLoaded(dataService.whenLoaded(DataCollection.TIME_ENTRIES), startDayButton, endDayButton);
 
         buttonPanel.add(startDayButton);
         buttonPanel.add(endDayButton);
 
-        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(new JScrollPane(timeEntryTable), BorderLayout.CENTER);
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
         return panel;
     }
 
     /**
-     *giriş/çıkış tablosunu güncelleme
+     *tablo modelini depo değişikliklerine bağlama
+     *
+     *ekleme, güncelleme ve silme tabloya tek satır olarak yansır,
+     *tablo yeniden okunmaz
+     *
+     * @param listener tablo modeli
      */
-    private void refreshTimeEntryTable() {
-        timeEntryTableModel.setRowCount(0);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-        List<TimeEntry> entries;
-        String[] columns;
+    private void listen(StorageListener listener) {
+        storageListeners.add(listener);
+        dataService.addStorageListener(listener);
+    }
 
-        // kullanıcı rolüne göre tablo yapısını belirle
-        if (currentUser.getRole() == Employee.UserRole.ADMIN) {
-            entries = dataService.getAllTimeEntries();
-            columns = new String[]{"Personel ID", "Personel Adı", "Tarih", "Giriş Saati", "Çıkış Saati", "Çalışma Süresi", "Fazla Mesai"};
-            timeEntryTableModel.setColumnIdentifiers(columns);
-        } else {
-            entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
-            columns = new String[]{"Tarih", "Giriş Saati", "Çıkış Saati", "Çalışma Süresi", "Fazla Mesai"};
-            timeEntryTableModel.setColumnIdentifiers(columns);
+    /**
+     *bileşenleri kayıtlar yüklenene kadar devre dışı bırakma
+     *
+     *ana ekran giriş sonrası hemen açılır; kayıtlara dokunan
+     *butonlar edt'yi bekletmemek için yükleme bitince etkinleşir
+     *
+     * @param loaded gereken koleksiyonların yüklenmesi
+     * @param components etkinleştirilecek bileşenler
+     */
+    private void enableWhenLoaded(CompletableFuture<Void> loaded, JComponent... components) {
+        for (JComponent component : components) {
+            component.setEnabled(false);
         }
-
-        // kayıtları tabloya ekle
-        for (TimeEntry entry : entries) {
-            String checkIn = entry.getCheckIn().format(formatter);
-            String checkOut = entry.getCheckOut() != null ? entry.getCheckOut().format(formatter) : "-";
-            String duration = entry.getWorkDuration() != null ?
-                    entry.getWorkDuration().toHours() + " saat " +
-                    (entry.getWorkDuration().toMinutes() % 60) + " dakika" : "-";
-            String overtime = entry.isOvertime() ? "Evet" : "Hayır";
-
-            if (currentUser.getRole() == Employee.UserRole.ADMIN) {
-                Employee employee = dataService.getEmployeeById(entry.getEmployeeId());
-                String employeeName = employee != null ? employee.getFullName() : "Bilinmeyen";
-
-                timeEntryTableModel.addRow(new Object[]{
-                        entry.getEmployeeId(),
-                        employeeName,
-                        entry.getCheckIn().toLocalDate(),
-                        checkIn,
-                        checkOut,
-                        duration,
-                        overtime
-                });
-            } else {
-                timeEntryTableModel.addRow(new Object[]{
-                        entry.getCheckIn().toLocalDate(),
-                        checkIn,
-                        checkOut,
-                        duration,
-                        overtime
-                });
+        SwingFutures.onEdt(loaded, this, "Kayıtlar yüklenemedi: ", done -> {
+            for (JComponent component : components) {
+                component.setEnabled(true);
             }
-        }
+        });
+    }
+
+    /**
+     *giriş/çıkış tablosunu güncelleme
+     *
+     *yalnızca ilk sayfa ve toplam kayıt sayısı arka planda okunur,
+     *diğer sayfalar tablo kaydırıldıkça yüklenir
+     */
+    private void refreshTimeEntryTable() {
+        timeEntryTableModel.refresh();
     }
 
     /**
@@ -514,28 +530,26 @@ public class MainFrame extends JFrame {
      *süre sayacı başlatma
      */
     private void handleCheckIn() {
-        // aktif giriş kaydı kontrolü
-        List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
-        boolean hasActiveEntry = entries.stream()
-                .anyMatch(entry -> entry.getCheckOut() == null);
-        
-        if (hasActiveEntry) {
+        // yeni giriş kaydı oluşturma
+        TimeEntry timeEntry = new TimeEntry(
+                RecordIds.next(),
+                currentUser.getId(),
+                LocalDateTime.now()
+        );
+
+        // aktif giriş kaydı varsa servis ikinci kaydı reddeder
+        CompletableFuture<Void> saved;
+        try {
+            saved = dataService.addTimeEntryAsync(timeEntry);
+        } catch (IllegalStateException e) {
             JOptionPane.showMessageDialog(this,
                 "Aktif bir giriş kaydınız bulunmaktadır!\nÖnce mevcut günü bitirmelisiniz.",
                 "Uyarı",
                 JOptionPane.WARNING_MESSAGE);
             return;
         }
-
-        // yeni giriş kaydı oluşturma
-        TimeEntry timeEntry = new TimeEntry(
-                UUID.randomUUID().toString(),
-                currentUser.getId(),
-                LocalDateTime.now()
-        );
+        SwingFutures.reportFailure(saved, this);
         currentTimeEntry = timeEntry;
-        dataService.addTimeEntry(timeEntry);
-        refreshTimeEntryTable();
         
         // çalışma süresi sayacını başlat
         if (workTimer != null) {
@@ -558,32 +572,23 @@ public class MainFrame extends JFrame {
      *süre sayacı durdurma
      */
     private void handleCheckOut() {
-        List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
-        TimeEntry lastEntry = null;
-        for (TimeEntry entry : entries) {
-            if (entry.getCheckOut() == null) {
-                lastEntry = entry;
-                break;
-            }
-        }
+        CompletableFuture<TimeEntry> closed = dataService.checkOutAsync(currentUser.getId(), LocalDateTime.now());
 
-        if (lastEntry != null) {
-            lastEntry.setCheckOut(LocalDateTime.now());
-            dataService.updateTimeEntry(lastEntry);
-            refreshTimeEntryTable();
-            
-            // sayacı durdur
-            if (workTimer != null) {
-                workTimer.cancel();
-                workTimer = null;
-            }
-            if (timerLabel != null) {
-                timerLabel.setText("Çalışma Süresi: 00:00:00");
+        SwingFutures.onEdt(closed, this, lastEntry -> {
+            if (lastEntry != null) {
+                // sayacı durdur
+                if (workTimer != null) {
+                    workTimer.cancel();
+                    workTimer = null;
+                }
+                if (timerLabel != null) {
+                    timerLabel.setText("Çalışma Süresi: 00:00:00");
+                }
+                currentTimeEntry = null;
+            } else {
+                JOptionPane.showMessageDialog(this, "Aktif giriş kaydı bulunamadı!");
             }
-            currentTimeEntry = null;
-        } else {
-            JOptionPane.showMessageDialog(this, "Aktif giriş kaydı bulunamadı!");
-        }
+        });
     }
 
     /**
@@ -594,9 +599,11 @@ public class MainFrame extends JFrame {
      *saat:dakika:saniye olarak gösterme
      */
     private void updateTimer() {
-        if (currentTimeEntry != null) {
+        //arayüz iş parçacığı kaydı null yapabilir, bir kez okunur
+        TimeEntry entry = currentTimeEntry;
+        if (entry != null) {
             LocalDateTime now = LocalDateTime.now();
-            Duration duration = Duration.between(currentTimeEntry.getCheckIn(), now);
+            Duration duration = Duration.between(entry.getCheckIn(), now);
             long hours = duration.toHours();
             long minutes = duration.toMinutesPart();
             long seconds = duration.toSecondsPart();
@@ -658,7 +665,7 @@ public class MainFrame extends JFrame {
         JTextArea reportArea = new JTextArea();
         reportArea.setEditable(false);
 
-        // rapor oluşturma işlemi
+        // rapor oluşturma işlemi (arka planda)
         generateButton.addActionListener(e -> {
             try {
                 LocalDate startDate = startDateChooser.getDate().toInstant()
@@ -667,12 +674,14 @@ public class MainFrame extends JFrame {
                 LocalDate endDate = endDateChooser.getDate().toInstant()
                     .atZone(java.time.ZoneId.systemDefault())
                     .toLocalDate();
-                String report = generateEmployeeReport(
-                    reportType.getSelectedIndex(),
-                    startDate,
-                    endDate
+                int selectedType = reportType.getSelectedIndex();
+                reportArea.setText("Rapor hazırlanıyor...");
+                SwingFutures.runInBackground(
+                    () -> generateEmployeeReport(selectedType, startDate, endDate),
+                    this,
+                    "Rapor oluşturulurken hata: ",
+                    reportArea::setText
                 );
-                reportArea.setText(report);
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this,
                     "Rapor oluşturulurken hata: " + ex.getMessage(),
@@ -711,7 +720,7 @@ public class MainFrame extends JFrame {
                 report.append("Dönem: ").append(startDate.format(dateFormatter))
                       .append(" - ").append(endDate.format(dateFormatter)).append("\n\n");
 
-                List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
+                List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId(), startDate, endDate);
                 long totalHours = 0;
                 long overtimeHours = 0;
 
@@ -790,7 +799,7 @@ public class MainFrame extends JFrame {
                 report.append("Dönem: ").append(startDate.format(dateFormatter))
                       .append(" - ").append(endDate.format(dateFormatter)).append("\n\n");
 
-                entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
+                entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId(), startDate, endDate);
                 double totalEarnings = 0;
 
                 // fazla mesai detaylarını listele
@@ -826,7 +835,7 @@ public class MainFrame extends JFrame {
                 report.append("Dönem: ").append(startDate.format(dateFormatter))
                       .append(" - ").append(endDate.format(dateFormatter)).append("\n\n");
 
-                entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId());
+                entries = dataService.getTimeEntriesByEmployeeId(currentUser.getId(), startDate, endDate);
                 double totalMissingHours = 0;
                 double totalDeductions = 0;
 
@@ -877,16 +886,11 @@ public class MainFrame extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         
         // tablo modelini oluşturma
-        String[] columns = {"ID", "Personel", "Başlangıç", "Bitiş", "Süre", "Neden", "Durum"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        leaveRequestTableModel = new LeaveRequestTableModel(dataService, null, this);
+        listen(leaveRequestTableModel);
         
         // Tabloyu sınıf değişkeni olarak ata
-        leaveRequestTable = new JTable(model);
+        leaveRequestTable = new JTable(leaveRequestTableModel);
         panel.add(new JScrollPane(leaveRequestTable), BorderLayout.CENTER);
 
         // onay red butonları
@@ -902,7 +906,7 @@ public class MainFrame extends JFrame {
         approveButton.addActionListener(e -> {
             int selectedRow = leaveRequestTable.getSelectedRow();
             if (selectedRow >= 0) {
-                handleLeaveRequestResponse(leaveRequestTable, selectedRow, true);
+                handleLeaveRequestResponse(selectedRow, true);
             } else {
                 JOptionPane.showMessageDialog(this, 
                     "Lütfen bir izin talebi seçin!", 
@@ -915,7 +919,7 @@ public class MainFrame extends JFrame {
         rejectButton.addActionListener(e -> {
             int selectedRow = leaveRequestTable.getSelectedRow();
             if (selectedRow >= 0) {
-                handleLeaveRequestResponse(leaveRequestTable, selectedRow, false);
+                handleLeaveRequestResponse(selectedRow, false);
             } else {
                 JOptionPane.showMessageDialog(this, 
                     "Lütfen bir izin talebi seçin!", 
@@ -929,7 +933,7 @@ public class MainFrame extends JFrame {
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
         // Tabloyu ilk verilerle doldur
-        refreshLeaveRequestTable(model);
+        refreshLeaveRequestTable();
         
         return panel;
     }
@@ -943,33 +947,28 @@ public class MainFrame extends JFrame {
      *talep durumu güncelleme
      *izin günü güncelleme
      *
-     * @param table izin talepleri tablosu
      * @param selectedRow seçili satır
      * @param approved onay durumu
      */
-    private void handleLeaveRequestResponse(JTable table, int selectedRow, boolean approved) {
-        String id = (String) table.getValueAt(selectedRow, 0);
-        String employeeInfo = (String) table.getValueAt(selectedRow, 1);
-        String employeeId = employeeInfo.split(" - ")[0];
-        
-        // İzin talebini bul
-        List<LeaveRequest> requests = dataService.getAllLeaveRequests();
-        LeaveRequest request = requests.stream()
-                .filter(r -> r.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+    private void handleLeaveRequestResponse(int selectedRow, boolean approved) {
+        // İzin talebini bul (satırın sayfası henüz yüklenmediyse null)
+        LeaveRequest selected = leaveRequestTableModel.getItem(selectedRow);
+        LeaveRequest request = selected != null ? dataService.getLeaveRequestById(selected.getId()) : null;
 
         if (request != null) {
+            String employeeId = request.getEmployeeId();
             // Yönetici notunu al
             String notes = JOptionPane.showInputDialog(this,
                     "Notlar (İsteğe bağlı):",
                     approved ? "İzin Onaylama" : "İzin Reddetme",
                     JOptionPane.PLAIN_MESSAGE);
 
-            // Talep durumunu güncelle
-            request.setStatus(approved ? LeaveRequest.LeaveStatus.APPROVED : 
+            // Talep durumunu güncelle (depodaki nesne okuyucularla paylaşılır, kopyası değiştirilir)
+            LeaveRequest response = new LeaveRequest(request.getId(), employeeId,
+                    request.getStartDate(), request.getEndDate(), request.getReason());
+            response.setStatus(approved ? LeaveRequest.LeaveStatus.APPROVED : 
                                       LeaveRequest.LeaveStatus.REJECTED);
-            request.setApproverNotes(notes);
+            response.setApproverNotes(notes);
 
             // Onaylanırsa izin günlerini kontrol et ve güncelle
             if (approved) {
@@ -986,23 +985,20 @@ public class MainFrame extends JFrame {
                             "Talep Edilen: " + duration + " gün",
                             "İzin Onaylanamadı",
                             JOptionPane.WARNING_MESSAGE);
-                        request.setStatus(LeaveRequest.LeaveStatus.REJECTED);
-                        request.setApproverNotes("Yetersiz izin günü (Kalan: " + remainingDays + " gün)");
+                        response.setStatus(LeaveRequest.LeaveStatus.REJECTED);
+                        response.setApproverNotes("Yetersiz izin günü (Kalan: " + remainingDays + " gün)");
                     }
                 }
             }
 
-            // Değişiklikleri kaydet
-            dataService.updateLeaveRequest(request);
-            
-            // Tabloyu güncelle
-            refreshLeaveRequestTable((DefaultTableModel) table.getModel());
-            
-            // İşlem sonucu mesajı göster
-            JOptionPane.showMessageDialog(this,
-                "İzin talebi " + (approved ? "onaylandı" : "reddedildi") + ".",
-                "İşlem Tamamlandı",
-                JOptionPane.INFORMATION_MESSAGE);
+            // Değişiklikleri kaydet (tablo satırı depo bildirimiyle güncellenir)
+            SwingFutures.onEdt(dataService.updateLeaveRequestAsync(response), this, saved -> {
+                // İşlem sonucu mesajı göster
+                JOptionPane.showMessageDialog(this,
+                    "İzin talebi " + (approved ? "onaylandı" : "reddedildi") + ".",
+                    "İşlem Tamamlandı",
+                    JOptionPane.INFORMATION_MESSAGE);
+            });
         }
     }
 
@@ -1019,26 +1015,21 @@ public class MainFrame extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
 
         // tablo modelini oluşturma
-        String[] columns = {"Başlangıç", "Bitiş", "Süre", "Neden", "Durum", "Notlar"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        
-        leaveRequestTable = new JTable(model);
+        leaveRequestTableModel = new LeaveRequestTableModel(dataService, currentUser.getId(), this);
+        listen(leaveRequestTableModel);
+        leaveRequestTable = new JTable(leaveRequestTableModel);
         panel.add(new JScrollPane(leaveRequestTable), BorderLayout.CENTER);
 
         // yeni talep butonu
         JButton newRequestButton = new JButton("Yeni İzin Talebi");
         newRequestButton.addActionListener(e -> showLeaveRequestDialog());
+        enableWhenLoaded(dataService.whenLoaded(DataCollection.LEAVE_REQUESTS), newRequestButton);
 
         JPanel buttonPanel = new JPanel();
         buttonPanel.add(newRequestButton);
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
-        refreshEmployeeLeaveRequestTable(model);
+        refreshLeaveRequestTable();
         return panel;
     }
 
@@ -1155,16 +1146,14 @@ public class MainFrame extends JFrame {
 
             //izin talebini oluştur ve kaydet
             LeaveRequest request = new LeaveRequest(
-                UUID.randomUUID().toString(),
+                RecordIds.next(),
                 currentUser.getId(),
                 startDate,
                 endDate,
                 reason
             );
 
-            dataService.addLeaveRequest(request);
-            dialog.dispose();
-            refreshEmployeeLeaveRequestTable((DefaultTableModel) leaveRequestTable.getModel());
+            SwingFutures.onEdt(dataService.addLeaveRequestAsync(request), dialog, saved -> dialog.dispose());
         } catch (IllegalArgumentException e) {
             JOptionPane.showMessageDialog(dialog,
                 "Hata: " + e.getMessage(),
@@ -1176,63 +1165,11 @@ public class MainFrame extends JFrame {
     /**
      *izin talepleri tablosunu güncelleme
      *
-     *personel bilgisi
-     *tarih bilgileri
-     *izin süresi
-     *talep durumu
-     *
-     * @param model tablo modeli
+     *yönetici tüm talepleri, personel kendi taleplerini görür
+     *satırlar tablo kaydırıldıkça sayfa sayfa yüklenir
      */
-    private void refreshLeaveRequestTable(DefaultTableModel model) {
-        model.setRowCount(0);
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-        
-        List<LeaveRequest> requests = dataService.getAllLeaveRequests();
-        for (LeaveRequest request : requests) {
-            Employee employee = dataService.getEmployeeById(request.getEmployeeId());
-            String employeeInfo = request.getEmployeeId() + " - " + 
-                (employee != null ? 
-                    String.format("%s %s", employee.getFirstName(), employee.getLastName()) :
-                    "Bilinmeyen Personel");
-            
-            model.addRow(new Object[]{
-                request.getId(),
-                employeeInfo,
-                request.getStartDate().format(dateFormatter),
-                request.getEndDate().format(dateFormatter),
-                request.getDurationInDays() + " gün",
-                request.getReason(),
-                request.getStatus().getDisplayName()
-            });
-        }
-    }
-
-    /**
-     *personel izin tablosunu güncelleme
-     *
-     *tarih bilgileri
-     *izin süresi
-     *izin nedeni
-     *talep durumu
-     *yönetici notu
-     *
-     * @param model tablo modeli
-     */
-    private void refreshEmployeeLeaveRequestTable(DefaultTableModel model) {
-        model.setRowCount(0);
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-        
-        List<LeaveRequest> requests = dataService.getLeaveRequestsByEmployeeId(currentUser.getId());
-        for (LeaveRequest request : requests) {
-            model.addRow(new Object[]{
-                request.getStartDate().format(dateFormatter),
-                request.getEndDate().format(dateFormatter),
-                request.getDurationInDays() + " gün",
-                request.getReason(),
-                request.getStatus().getDisplayName(),
-                request.getApproverNotes() != null ? request.getApproverNotes() : "-"
-            });
-        }
+    private void refreshLeaveRequestTable() {
+        leaveRequestTableModel.refresh();
     }
 
     /**
@@ -1287,12 +1224,14 @@ public class MainFrame extends JFrame {
                 LocalDate endDate = endDateChooser.getDate().toInstant()
                     .atZone(java.time.ZoneId.systemDefault())
                     .toLocalDate();
-                String report = generateReport(
-                    reportType.getSelectedIndex(),
-                    startDate,
-                    endDate
+                int selectedType = reportType.getSelectedIndex();
+                reportArea.setText("Rapor hazırlanıyor...");
+                SwingFutures.runInBackground(
+                    () -> generateReport(selectedType, startDate, endDate),
+                    this,
+                    "Rapor oluşturulurken hata: ",
+                    reportArea::setText
                 );
-                reportArea.setText(report);
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this,
                     "Rapor oluşturulurken hata: " + ex.getMessage(),
@@ -1315,6 +1254,8 @@ public class MainFrame extends JFrame {
      *izin kullanım raporu
      *fazla/eksik mesai raporu
      *
+     *toplamlar rapor servisinde tek geçişte hesaplanır
+     *
      * @param reportType rapor türü (0-4)
      * @param startDate başlangıç tarihi
      * @param endDate bitiş tarihi
@@ -1330,32 +1271,11 @@ public class MainFrame extends JFrame {
                 report.append("Dönem: ").append(startDate.format(dateFormatter))
                       .append(" - ").append(endDate.format(dateFormatter)).append("\n\n");
 
-                for (Employee employee : dataService.getAllEmployees()) {
-                    // admin kullanıcısını raporlama dışında tut
-                    if (employee.getRole() == Employee.UserRole.ADMIN) {
-                        continue;
-                    }
-                    report.append(employee.getFullName()).append(":\n");
-                    List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(employee.getId());
-                    
-                    long totalHours = 0;
-                    long overtimeHours = 0;
-                    
-                    for (TimeEntry entry : entries) {
-                        if (entry.getCheckOut() != null &&
-                            !entry.getCheckIn().toLocalDate().isBefore(startDate) &&
-                            !entry.getCheckIn().toLocalDate().isAfter(endDate)) {
-                            
-                            Duration duration = entry.getWorkDuration();
-                            totalHours += duration.toHours();
-                            if (duration.toHours() > 8) {
-                                overtimeHours += duration.toHours() - 8;
-                            }
-                        }
-                    }
-                    
-                    report.append("  Toplam Çalışma: ").append(totalHours).append(" saat\n");
-                    report.append("  Toplam Fazla Mesai: ").append(overtimeHours).append(" saat\n\n");
+                ReportService.WorkSummary work = reportService.summarizeWork(startDate, endDate);
+                for (int i = 0; i < work.size(); i++) {
+                    report.append(work.getEmployee(i).getFullName()).append(":\n");
+                    report.append("  Toplam Çalışma: ").append(work.getTotalHours(i)).append(" saat\n");
+                    report.append("  Toplam Fazla Mesai: ").append(work.getOvertimeHours(i)).append(" saat\n\n");
                 }
                 break;
 
@@ -1364,37 +1284,15 @@ public class MainFrame extends JFrame {
                 report.append("Dönem: ").append(startDate.format(dateFormatter))
                       .append(" - ").append(endDate.format(dateFormatter)).append("\n\n");
 
-                //personelleri departmanlara göre grupla ve yöneticiyi hariç tut
-                Map<String, List<Employee>> departmentEmployees = dataService.getAllEmployees()
-                    .stream()
-                    .filter(e -> e.getRole() != Employee.UserRole.ADMIN)
-                    .collect(Collectors.groupingBy(Employee::getDepartment));
+                //yönetici hariç personel toplamları departmanlara göre gruplanır
+                Map<String, ReportService.DepartmentTotals> departments =
+                    reportService.summarizeWork(startDate, endDate).getDepartments();
 
-                for (Map.Entry<String, List<Employee>> entry : departmentEmployees.entrySet()) {
+                for (Map.Entry<String, ReportService.DepartmentTotals> entry : departments.entrySet()) {
                     report.append(entry.getKey()).append(" Departmanı:\n");
-                    report.append("  Çalışan Sayısı: ").append(entry.getValue().size()).append("\n");
-                    
-                    long departmentTotalHours = 0;
-                    long departmentOvertimeHours = 0;
-                    
-                    for (Employee employee : entry.getValue()) {
-                        List<TimeEntry> timeEntries = dataService.getTimeEntriesByEmployeeId(employee.getId());
-                        for (TimeEntry timeEntry : timeEntries) {
-                            if (timeEntry.getCheckOut() != null &&
-                                !timeEntry.getCheckIn().toLocalDate().isBefore(startDate) &&
-                                !timeEntry.getCheckIn().toLocalDate().isAfter(endDate)) {
-                                
-                                Duration duration = timeEntry.getWorkDuration();
-                                departmentTotalHours += duration.toHours();
-                                if (duration.toHours() > 8) {
-                                    departmentOvertimeHours += duration.toHours() - 8;
-                                }
-                            }
-                        }
-                    }
-                    
-                    report.append("  Toplam Çalışma: ").append(departmentTotalHours).append(" saat\n");
-                    report.append("  Toplam Fazla Mesai: ").append(departmentOvertimeHours).append(" saat\n\n");
+                    report.append("  Çalışan Sayısı: ").append(entry.getValue().getEmployeeCount()).append("\n");
+                    report.append("  Toplam Çalışma: ").append(entry.getValue().getTotalHours()).append(" saat\n");
+                    report.append("  Toplam Fazla Mesai: ").append(entry.getValue().getOvertimeHours()).append(" saat\n\n");
                 }
                 break;
 
@@ -1403,40 +1301,14 @@ public class MainFrame extends JFrame {
                 report.append("Dönem: ").append(startDate.format(dateFormatter))
                       .append(" - ").append(endDate.format(dateFormatter)).append("\n\n");
 
-                for (Employee employee : dataService.getAllEmployees()) {
-                    // admin kullanıcısını raporlama dışında tut
-                    if (employee.getRole() == Employee.UserRole.ADMIN) {
-                        continue;
-                    }
+                ReportService.LeaveSummary leaves = reportService.summarizeLeaves(startDate, endDate);
+                for (int i = 0; i < leaves.size(); i++) {
+                    Employee employee = leaves.getEmployee(i);
                     report.append(employee.getFullName()).append(":\n");
-                    List<LeaveRequest> leaves = dataService.getLeaveRequestsByEmployeeId(employee.getId());
-                    
-                    int approvedDays = 0;
-                    int pendingDays = 0;
-                    int rejectedDays = 0;
-                    
-                    for (LeaveRequest leave : leaves) {
-                        if (!leave.getStartDate().isBefore(startDate) &&
-                            !leave.getEndDate().isAfter(endDate)) {
-                            int days = leave.getDurationInDays();
-                            switch (leave.getStatus()) {
-                                case APPROVED:
-                                    approvedDays += days;
-                                    break;
-                                case PENDING:
-                                    pendingDays += days;
-                                    break;
-                                case REJECTED:
-                                    rejectedDays += days;
-                                    break;
-                            }
-                        }
-                    }
-                    
                     report.append("  Toplam İzin Hakkı: ").append(employee.getVacationDays()).append(" gün\n");
-                    report.append("  Onaylanan İzin: ").append(approvedDays).append(" gün\n");
-                    report.append("  Bekleyen İzin: ").append(pendingDays).append(" gün\n");
-                    report.append("  Reddedilen İzin: ").append(rejectedDays).append(" gün\n\n");
+                    report.append("  Onaylanan İzin: ").append(leaves.getApprovedDays(i)).append(" gün\n");
+                    report.append("  Bekleyen İzin: ").append(leaves.getPendingDays(i)).append(" gün\n");
+                    report.append("  Reddedilen İzin: ").append(leaves.getRejectedDays(i)).append(" gün\n\n");
                 }
                 break;
 
@@ -1445,33 +1317,13 @@ public class MainFrame extends JFrame {
                 report.append("Dönem: ").append(startDate.format(dateFormatter))
                       .append(" - ").append(endDate.format(dateFormatter)).append("\n\n");
 
-                for (Employee employee : dataService.getAllEmployees()) {
-                    // admin kullanıcısını raporlama dışında tut
-                    if (employee.getRole() == Employee.UserRole.ADMIN) {
-                        continue;
-                    }
+                work = reportService.summarizeWork(startDate, endDate);
+                for (int i = 0; i < work.size(); i++) {
+                    Employee employee = work.getEmployee(i);
+                    long overtimeHours = work.getOvertimeHours(i);
+                    double overtimeEarnings = overtimeHours * employee.getHourlyRate() * 1.5;
+
                     report.append(employee.getFullName()).append(":\n");
-                    List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(employee.getId());
-                    
-                    long overtimeHours = 0;
-                    double overtimeEarnings = 0;
-                    
-                    for (TimeEntry entry : entries) {
-                        if (entry.getCheckOut() != null &&
-                            !entry.getCheckIn().toLocalDate().isBefore(startDate) &&
-                            !entry.getCheckIn().toLocalDate().isAfter(endDate) &&
-                            entry.isOvertime()) {
-                            
-                            Duration duration = entry.getWorkDuration();
-                            long hours = duration.toHours();
-                            if (hours > 8) {
-                                long overtime = hours - 8;
-                                overtimeHours += overtime;
-                                overtimeEarnings += overtime * employee.getHourlyRate() * 1.5;
-                            }
-                        }
-                    }
-                    
                     report.append("  Fazla Mesai: ").append(overtimeHours).append(" saat\n");
                     report.append("  Fazla Mesai Ücreti: ").append(String.format("%.2f TL", overtimeEarnings)).append("\n\n");
                 }
@@ -1482,45 +1334,28 @@ public class MainFrame extends JFrame {
                 report.append("Dönem: ").append(startDate.format(dateFormatter))
                       .append(" - ").append(endDate.format(dateFormatter)).append("\n\n");
 
-                for (Employee employee : dataService.getAllEmployees()) {
-                    // admin kullanıcısını raporlama dışında tut
-                    if (employee.getRole() == Employee.UserRole.ADMIN) {
-                        continue;
-                    }
-                    
-                    List<TimeEntry> entries = dataService.getTimeEntriesByEmployeeId(employee.getId());
-                    long totalMissingHours = 0;
-                    double totalDeductions = 0;
-                    
+                work = reportService.summarizeWork(startDate, endDate);
+                for (int i = 0; i < work.size(); i++) {
+                    Employee employee = work.getEmployee(i);
                     report.append(employee.getFullName()).append(":\n");
-                    
-                    for (TimeEntry entry : entries) {
-                        if (entry.getCheckOut() != null &&
-                            !entry.getCheckIn().toLocalDate().isBefore(startDate) &&
-                            !entry.getCheckIn().toLocalDate().isAfter(endDate)) {
-                            
-                            Duration duration = entry.getWorkDuration();
-                            long hours = duration.toHours();
-                            
-                            if (hours < 8) {
-                                long missingHours = 8 - hours;
-                                double deduction = missingHours * employee.getHourlyRate();
-                                
-                                report.append("  ").append(entry.getCheckIn().toLocalDate().format(dateFormatter)).append(":\n");
-                                report.append("    Çalışılan: ").append(hours).append(" saat\n");
-                                report.append("    Eksik: ").append(missingHours).append(" saat\n");
-                                report.append("    Kesinti: ").append(String.format("%.2f TL", deduction)).append("\n");
-                                
-                                totalMissingHours += missingHours;
-                                totalDeductions += deduction;
-                            }
-                        }
+
+                    // sadece 8 saatten kısa günler
+                    for (ReportService.ShortDay day : work.getShortDays(i)) {
+                        long hours = day.getHours();
+                        long missingHours = 8 - hours;
+                        double deduction = missingHours * employee.getHourlyRate();
+
+                        report.append("  ").append(day.getDate().format(dateFormatter)).append(":\n");
+                        report.append("    Çalışılan: ").append(hours).append(" saat\n");
+                        report.append("    Eksik: ").append(missingHours).append(" saat\n");
+                        report.append("    Kesinti: ").append(String.format("%.2f TL", deduction)).append("\n");
                     }
-                    
+
+                    long totalMissingHours = work.getMissingHours(i);
                     if (totalMissingHours > 0) {
                         report.append("\n  ÖZET:\n");
                         report.append("  Toplam Eksik Mesai: ").append(totalMissingHours).append(" saat\n");
-                        report.append("  Toplam Kesinti: ").append(String.format("%.2f TL", totalDeductions)).append("\n");
+                        report.append("  Toplam Kesinti: ").append(String.format("%.2f TL", totalMissingHours * employee.getHourlyRate())).append("\n");
                     } else {
                         report.append("  Eksik mesai bulunmamaktadır.\n");
                     }
@@ -1536,6 +1371,7 @@ public class MainFrame extends JFrame {
      *oturumu kapatma
      *
      *personel ise sayacı durdur
+     *bekleyen değişiklikleri diske yaz
      *giriş ekranına döner
      *mevcut pencereyi kapatır
      */
@@ -1547,10 +1383,18 @@ public class MainFrame extends JFrame {
             }
         }
 
+        // tablolar artık güncellenmez
+        for (StorageListener listener : storageListeners) {
+            dataService.removeStorageListener(listener);
+        }
+
         // giriş ekranını göster
         LoginFrame loginFrame = new LoginFrame(dataService);
         loginFrame.setVisible(true);
         dispose();
+
+        // bekleyen değişiklikleri yaz
+        SwingFutures.reportFailure(dataService.flush(), loginFrame);
     }
 
     /**
@@ -1566,14 +1410,8 @@ public class MainFrame extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
 
         // tablo modelini oluşturma
-        String[] columns = {"ID", "Ad", "Soyad", "TC No", "Departman", "Pozisyon", 
-                          "E-posta", "Telefon", "Maaş", "İşe Başlama Tarihi"};
-        employeeTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        employeeTableModel = new EmployeeTableModel(dataService);
+        listen(employeeTableModel);
         employeeTable = new JTable(employeeTableModel);
         JScrollPane scrollPane = new JScrollPane(employeeTable);
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -1588,7 +1426,7 @@ public class MainFrame extends JFrame {
         editButton.addActionListener(e -> {
             int selectedRow = employeeTable.getSelectedRow();
             if (selectedRow >= 0) {
-                String id = (String) employeeTableModel.getValueAt(selectedRow, 0);
+                String id = employeeTableModel.getEmployee(selectedRow).getId();
                 Employee employee = dataService.getEmployeeById(id);
                 showEmployeeDialog(employee);
             } else {
@@ -1598,20 +1436,22 @@ public class MainFrame extends JFrame {
         deleteButton.addActionListener(e -> {
             int selectedRow = employeeTable.getSelectedRow();
             if (selectedRow >= 0) {
-                String id = (String) employeeTableModel.getValueAt(selectedRow, 0);
+                String id = employeeTableModel.getEmployee(selectedRow).getId();
                 int result = JOptionPane.showConfirmDialog(this,
                         "Personeli silmek istediğinizden emin misiniz?",
                         "Personel Silme",
                         JOptionPane.YES_NO_OPTION);
                 if (result == JOptionPane.YES_OPTION) {
-                    dataService.deleteEmployee(id);
-                    refreshEmployeeTable();
+                    SwingFutures.reportFailure(dataService.deleteEmployeeAsync(id), this);
                 }
             } else {
                 JOptionPane.showMessageDialog(this, "Lütfen bir personel seçin!");
             }
         });
 
+        //silme personelin tüm kayıtlarına dokunur
+        enableWhenLoaded(dataService.whenLoaded(), deleteButton);
+
         buttonPanel.add(addButton);
         buttonPanel.add(editButton);
         buttonPanel.add(deleteButton);
@@ -1629,28 +1469,7 @@ public class MainFrame extends JFrame {
      *iletişim bilgileri
      */
     private void refreshEmployeeTable() {
-        DefaultTableModel model = (DefaultTableModel) employeeTable.getModel();
-        model.setRowCount(0);
-        
-        // yönetici hariç tüm personeli listele
-        List<Employee> employees = dataService.getAllEmployees().stream()
-            .filter(e -> e.getRole() != Employee.UserRole.ADMIN)
-            .collect(Collectors.toList());
-
-        for (Employee employee : employees) {
-            model.addRow(new Object[]{
-                employee.getId(),
-                employee.getFirstName(),
-                employee.getLastName(),
-                employee.getTcNo(),
-                employee.getDepartment(),
-                employee.getPosition(),
-                employee.getEmail(),
-                employee.getPhone(),
-                employee.getSalary(),
-                employee.getStartDate()
-            });
-        }
+        employeeTableModel.refresh();
     }
 
     /**
@@ -1665,14 +1484,9 @@ public class MainFrame extends JFrame {
     private JPanel createTimeEntryPanel() {
         JPanel panel = new JPanel(new BorderLayout());
 
-        // tablo modelini oluşturma
-        String[] columns = {"Tarih", "Giriş Saati", "Çıkış Saati", "Çalışma Süresi", "Fazla Mesai"};
-        timeEntryTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // tablo modelini oluşturma (tüm personel)
+        timeEntryTableModel = new TimeEntryTableModel(dataService, null, this);
+        listen(timeEntryTableModel);
         timeEntryTable = new JTable(timeEntryTableModel);
         JScrollPane scrollPane = new JScrollPane(timeEntryTable);
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -1709,13 +1523,8 @@ public class MainFrame extends JFrame {
         if (employee != null) {
             id = employee.getId();
         } else {
-            // 1-100 arası rastgele id oluşturma
-            String tempId = String.valueOf(1 + (int)(Math.random() * 100));
-            // id zaten varsa yeni id oluşturma
-            while (dataService.getEmployeeById(tempId) != null) {
-                tempId = String.valueOf(1 + (int)(Math.random() * 100));
-            }
-            id = tempId;
+            // depo dizisinden yeni id alma (çakışma denemesi gerekmez)
+            id = dataService.nextEmployeeId();
         }
 
         // ad alanı
@@ -1856,14 +1665,11 @@ public class MainFrame extends JFrame {
                 newEmployee.setPassword(new String(passwordField.getPassword()));
                 newEmployee.setRole(Employee.UserRole.EMPLOYEE);  // her zaman personel olarak ayarla
 
-                if (employee == null) {
-                    dataService.addEmployee(newEmployee);
-                } else {
-                    dataService.updateEmployee(newEmployee);
-                }
+                CompletableFuture<Void> saved = employee == null ?
+                        dataService.addEmployeeAsync(newEmployee) :
+                        dataService.updateEmployeeAsync(newEmployee);
 
-                refreshEmployeeTable();
-                dialog.dispose();
+                SwingFutures.onEdt(saved, dialog, done -> dialog.dispose());
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(dialog,
                     "Hata: Maaş alanına geçerli bir sayı giriniz!",
@@ -0,0 +1,429 @@
+package com.semihtemiz.pms.ui;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import com.semihtemiz.pms.service.DataCollection;
+import com.semihtemiz.pms.service.Page;
+import com.semihtemiz.pms.service.StorageEvent;
+import com.semihtemiz.pms.service.StorageListener;
+
+/**
+ *sayfa sayfa okunan tablo modeli
+ *
+ *satırlar servisin sayfa sorgusuyla, tablo o satırı çizmek
+ *istediğinde arka planda yüklenir; yüklenmemiş satırlar "..." gösterir
+ *hücre metni yalnızca çizilen hücre için üretilir, satır dizisi tutulmaz
+ *açılışta yalnızca ilk sayfa ve toplam kayıt sayısı okunur
+ *
+ *son kullanılan sayfalar önbellekte tutulur, eskileri atılır
+ *
+ *depo değişiklikleri tabloyu yeniden okumadan uygulanır: değişen kaydın
+ *satırı önbellekteki sayfalarda bulunur, tek satır eklenir, güncellenir veya
+ *silinir; sonraki sayfalar bir satır kayar. kaydın yeri önbellekteki
+ *sayfalardan bilinemiyorsa tablo yeniden okunur
+ *
+ *dinleyici dışındaki tüm metotlar edt üzerinde çağrılmalı
+ *
+ * @param <T> kayıt türü
+ */
+public abstract class PagedTableModel<T> extends AbstractTableModel implements StorageListener {
+    private static final long serialVersionUID = 1L;
+
+    //sayfa başına satır
+    protected static final int PAGE_SIZE = 100;
+
+    //önbellekte tutulacak sayfa sayısı
+    private static final int CACHED_PAGES = 20;
+
+    //yüklenmemiş hücre metni
+    private static final String LOADING = "...";
+
+    private final String[] columns;
+
+    //tablonun gösterdiği koleksiyon (diğer koleksiyonların değişiklikleri yok sayılır)
+    private final DataCollection collection;
+
+    //hata mesajının gösterileceği bileşen
+    private final Component parent;
+
+    //sayfa no -> kayıtlar (en son kullanılan sonda)
+    private final Map<Integer, List<T>> pages = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+
+    //yüklenmekte olan sayfalar
+    private final Set<Integer> loading = new HashSet<>();
+
+    private int rowCount;
+
+    //yenilemeden veya değişiklikten önce başlamış yüklemelerin sonucu atılır
+    //(sayfa hâlâ eksikse yeniden istenir)
+    private int generation;
+
+    //ilk sayfa yükleniyor (bu sırada gelen değişiklik yeniden okumayla alınır)
+    private boolean refreshing;
+
+    /**
+     * @param columns sütun başlıkları
+     * @param collection tablonun gösterdiği koleksiyon
+     * @param parent hata mesajının gösterileceği bileşen
+     */
+    protected PagedTableModel(String[] columns, DataCollection collection, Component parent) {
+        this.columns = columns;
+        this.collection = collection;
+        this.parent = parent;
+    }
+
+    /**
+     *sayfa okuma (arka plan iş parçacığında çağrılır)
+     *
+     * @param offset ilk satırın konumu
+     * @param pageSize sayfa boyutu
+     * @return istenen sayfa ve toplam kayıt sayısı
+     */
+    protected abstract Page<T> fetch(int offset, int pageSize);
+
+    /**
+     *hücre metnini üretme
+     *
+     * @param item satırdaki kayıt
+     * @param column sütun
+     * @return gösterilecek değer
+     */
+    protected abstract Object format(T item, int column);
+
+    /**
+     * @return kayıt tabloda gösteriliyorsa (sorgu filtresine uyuyorsa) true
+     */
+    protected abstract boolean matches(T item);
+
+    /**
+     * @return satır sırası (sorgunun sırasıyla aynı)
+     */
+    protected abstract Comparator<T> order();
+
+    protected abstract String idOf(T item);
+
+    /**
+     *tabloyu yeniden okuma
+     *
+     *ilk sayfa yüklenene kadar eski satırlar gösterilir
+     */
+    public void refresh() {
+        int requested = ++generation;
+        loading.clear();
+        refreshing = true;
+        SwingFutures.runInBackground(() -> fetch(0, PAGE_SIZE), parent, "Kayıtlar yüklenemedi: ", page -> {
+            if (requested != generation) {
+                return;
+            }
+            refreshing = false;
+            pages.clear();
+            pages.put(0, new ArrayList<>(page.getItems()));
+            rowCount = page.getTotal();
+            fireTableDataChanged();
+        });
+    }
+
+    /**
+     *satırdaki kayıt
+     *
+     *sayfa yüklenmemişse yüklemesi başlatılır
+     *
+     * @param row satır
+     * @return kayıt veya sayfa henüz yüklenmediyse null
+     */
+    public T getItem(int row) {
+        int index = row / PAGE_SIZE;
+        List<T> items = pages.get(index);
+        if (items == null) {
+            load(index);
+            return null;
+        }
+        int position = row % PAGE_SIZE;
+        return position < items.size() ? items.get(position) : null;
+    }
+
+    private void load(int index) {
+        if (!loading.add(index)) {
+            return;
+        }
+        int requested = generation;
+        SwingFutures.runInBackground(() -> fetch(index * PAGE_SIZE, PAGE_SIZE), parent, "Kayıtlar yüklenemedi: ",
+                page -> {
+                    if (requested != generation) {
+                        //eski sayfa atılır; tablo yeniden çizilmeyebileceğinden
+                        //eksik kalan sayfa burada tekrar istenir ("..." kalmaz)
+                        if (!pages.containsKey(index) && index * PAGE_SIZE < rowCount) {
+                            load(index);
+                        }
+                        return;
+                    }
+                    loading.remove(index);
+                    pages.put(index, new ArrayList<>(page.getItems()));
+                    if (page.getTotal() != rowCount) {
+                        //arada bildirilmeden kayıt eklenmiş veya silinmiş
+                        rowCount = page.getTotal();
+                        fireTableDataChanged();
+                    } else if (rowCount > index * PAGE_SIZE) {
+                        fireTableRowsUpdated(index * PAGE_SIZE, Math.min(rowCount, (index + 1) * PAGE_SIZE) - 1);
+                    }
+                });
+    }
+
+    /**
+     *depo değişikliği (yazan iş parçacığında çağrılır, edt'ye aktarılır)
+     */
+    @Override
+    public void storageChanged(StorageEvent event) {
+        if (event.getCollection() == collection) {
+            SwingUtilities.invokeLater(() -> apply(event));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(StorageEvent event) {
+        if (refreshing) {
+            //okunmakta olan ilk sayfa değişikliği içermeyebilir
+            refresh();
+            return;
+        }
+        //değişiklikten önce okunmaya başlamış sayfalar eski, gelince atılıp yeniden istenir
+        generation++;
+        loading.clear();
+        switch (event.getType()) {
+            case INSERTED:
+                insert((T) event.getItem());
+                break;
+            case UPDATED:
+                update((T) event.getPrevious(), (T) event.getItem());
+                break;
+            case DELETED:
+                delete((T) event.getItem());
+                break;
+            default:
+                refresh();
+                break;
+        }
+    }
+
+    private void insert(T item) {
+        if (!matches(item)) {
+            return;
+        }
+        int existing = rowOf(item);
+        if (existing >= 0) {
+            //kilitsiz okunan sayfa kaydı bildirimden önce görmüş olabilir
+            update(cached(existing), item);
+            return;
+        }
+        int row = insertionRow(item);
+        if (row < 0) {
+            refresh();
+            return;
+        }
+        splice(row, item);
+        fireTableRowsInserted(row, row);
+    }
+
+    private void update(T previous, T item) {
+        int row = rowOf(item);
+        boolean matched = previous != null && matches(previous);
+        if (row < 0) {
+            //kayıt önbellekte değil: yeri ve filtre durumu değişmediyse görünen satır yok
+            if (matched == matches(item) && (!matched || order().compare(previous, item) == 0)) {
+                return;
+            }
+            if (!matched) {
+                insert(item);
+            } else {
+                refresh();
+            }
+            return;
+        }
+        if (matches(item) && fitsAt(row, item)) {
+            pages.get(row / PAGE_SIZE).set(row % PAGE_SIZE, item);
+            fireTableRowsUpdated(row, row);
+            return;
+        }
+        //sırası değişti veya artık filtreye uymuyor
+        splice(row, null);
+        fireTableRowsDeleted(row, row);
+        insert(item);
+    }
+
+    private void delete(T item) {
+        int row = rowOf(item);
+        if (row >= 0) {
+            splice(row, null);
+            fireTableRowsDeleted(row, row);
+        } else if (matches(item)) {
+            refresh();
+        }
+    }
+
+    /**
+     * @return önbellekte id ile kaydın satırı veya -1
+     */
+    private int rowOf(T item) {
+        String id = idOf(item);
+        for (Map.Entry<Integer, List<T>> page : pages.entrySet()) {
+            List<T> items = page.getValue();
+            for (int i = 0; i < items.size(); i++) {
+                if (idOf(items.get(i)).equals(id)) {
+                    return page.getKey() * PAGE_SIZE + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     *yeni kaydın satırı
+     *
+     *önbellekteki sayfalar sırayla gezilir; kayıt önbellekte olmayan
+     *bir sayfaya düşüyorsa yeri bilinemez
+     *
+     * @return satır veya bilinemiyorsa -1
+     */
+    private int insertionRow(T item) {
+        if (rowCount == 0) {
+            return 0;
+        }
+        Comparator<T> order = order();
+        List<Integer> indexes = new ArrayList<>(pages.keySet());
+        indexes.sort(null);
+        for (int index : indexes) {
+            List<T> items = pages.get(index);
+            int start = index * PAGE_SIZE;
+            boolean lastPage = start + items.size() >= rowCount;
+            if (items.isEmpty() || order.compare(item, items.get(0)) < 0) {
+                //önceki sayfa önbellekte olsaydı kayıt orada bulunurdu
+                return index == 0 || pages.containsKey(index - 1) ? start : -1;
+            }
+            if (lastPage || order.compare(item, items.get(items.size() - 1)) < 0) {
+                int low = 0;
+                int high = items.size();
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (order.compare(items.get(mid), item) <= 0) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                return start + low;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return kayıt sırayı bozmadan satırdaki kaydın yerine konabiliyorsa true
+     */
+    private boolean fitsAt(int row, T item) {
+        Comparator<T> order = order();
+        T before = row > 0 ? cached(row - 1) : null;
+        T after = row + 1 < rowCount ? cached(row + 1) : null;
+        if ((row > 0 && before == null) || (row + 1 < rowCount && after == null)) {
+            //komşu önbellekte değil, yalnızca sıra anahtarı değişmediyse yerinde kalır
+            return order.compare(cached(row), item) == 0;
+        }
+        return (before == null || order.compare(before, item) <= 0)
+                && (after == null || order.compare(item, after) <= 0);
+    }
+
+    /**
+     * @return önbellekteki kayıt (yükleme başlatmaz) veya null
+     */
+    private T cached(int row) {
+        List<T> items = pages.get(row / PAGE_SIZE);
+        int position = row % PAGE_SIZE;
+        return items != null && position < items.size() ? items.get(position) : null;
+    }
+
+    /**
+     *satır ekleme veya silme
+     *
+     *satırı içeren ardışık önbellek sayfaları birleştirilip değişiklik
+     *uygulanır ve yeniden bölünür (sonraki satırlar bir kayar); sonu
+     *bilinmeyen eksik sayfa ile aradaki boşluktan sonraki sayfalar atılır,
+     *çizilince yeniden okunur. maliyet önbellek boyutuyla sınırlı
+     *
+     * @param row satır
+     * @param inserted eklenecek kayıt veya silmede null
+     */
+    private void splice(int row, T inserted) {
+        int anchor = row / PAGE_SIZE;
+        if (!pages.containsKey(anchor) && row % PAGE_SIZE == 0 && pages.containsKey(anchor - 1)) {
+            //dolu son sayfanın sonuna ekleme
+            anchor--;
+        }
+        int first = anchor;
+        List<T> merged = new ArrayList<>();
+        if (pages.containsKey(anchor)) {
+            while (pages.containsKey(first - 1)) {
+                first--;
+            }
+            for (int index = first; pages.containsKey(index); index++) {
+                merged.addAll(pages.get(index));
+            }
+            int position = row - first * PAGE_SIZE;
+            if (inserted != null) {
+                merged.add(position, inserted);
+            } else {
+                merged.remove(position);
+            }
+        }
+        rowCount += inserted != null ? 1 : -1;
+
+        int shifted = first;
+        pages.keySet().removeIf(index -> index >= shifted);
+        for (int start = 0; start < merged.size(); start += PAGE_SIZE) {
+            List<T> chunk = new ArrayList<>(merged.subList(start, Math.min(start + PAGE_SIZE, merged.size())));
+            int index = first + start / PAGE_SIZE;
+            if (chunk.size() == PAGE_SIZE || index * PAGE_SIZE + chunk.size() >= rowCount) {
+                pages.put(index, chunk);
+            }
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        T item = getItem(row);
+        return item != null ? format(item, column) : LOADING;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+}
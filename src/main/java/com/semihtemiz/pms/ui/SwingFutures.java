@@ -0,0 +1,103 @@
+package com.semihtemiz.pms.ui;
+
+import java.awt.Component;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+/**
+ *arka plan işlemleri için swing yardımcıları
+ *
+ *servis future sonuçlarını edt üzerinde işleme
+ *uzun işlemleri swingworker ile arka planda çalıştırma
+ *hata durumunda mesaj gösterme
+ */
+public final class SwingFutures {
+
+    private SwingFutures() {
+    }
+
+    /**
+     *future tamamlanınca sonucu edt üzerinde işleme
+     *
+     * @param future servis işlemi
+     * @param parent hata mesajının gösterileceği bileşen
+     * @param onSuccess başarılı sonuçta edt üzerinde çağrılır
+     */
+    public static <T> void onEdt(CompletableFuture<T> future, Component parent, Consumer<T> onSuccess) {
+        onEdt(future, parent, "Veri kaydedilemedi: ", onSuccess);
+    }
+
+    /**
+     *future tamamlanınca sonucu edt üzerinde işleme
+     *
+     * @param future servis işlemi
+     * @param parent hata mesajının gösterileceği bileşen
+     * @param errorMessage hata mesajı ön eki
+     * @param onSuccess başarılı sonuçta edt üzerinde çağrılır
+     */
+    public static <T> void onEdt(CompletableFuture<T> future, Component parent, String errorMessage,
+            Consumer<T> onSuccess) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                showError(parent, errorMessage, error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+
+    /**
+     *sadece hata durumunda mesaj gösterme
+     *
+     * @param future servis işlemi
+     * @param parent hata mesajının gösterileceği bileşen
+     */
+    public static void reportFailure(CompletableFuture<?> future, Component parent) {
+        onEdt(future, parent, result -> { });
+    }
+
+    /**
+     *uzun işlemi arka planda çalıştırma
+     *
+     * @param task arka planda çalışacak işlem
+     * @param parent hata mesajının gösterileceği bileşen
+     * @param errorMessage hata mesajı ön eki
+     * @param onSuccess sonuç edt üzerinde bu fonksiyona verilir
+     */
+    public static <T> void runInBackground(Callable<T> task, Component parent, String errorMessage,
+            Consumer<T> onSuccess) {
+        new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.call();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    onSuccess.accept(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showError(parent, errorMessage, e.getCause());
+                }
+            }
+        }.execute();
+    }
+
+    private static void showError(Component parent, String message, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ?
+                error.getCause() : error;
+        JOptionPane.showMessageDialog(parent,
+                message + cause.getMessage(),
+                "Hata",
+                JOptionPane.ERROR_MESSAGE);
+    }
+}
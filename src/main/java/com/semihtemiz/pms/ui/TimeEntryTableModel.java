@@ -0,0 +1,107 @@
+package com.semihtemiz.pms.ui;
+
+import java.awt.Component;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+
+import com.semihtemiz.pms.model.Employee;
+import com.semihtemiz.pms.model.TimeEntry;
+import com.semihtemiz.pms.service.DataCollection;
+import com.semihtemiz.pms.service.Page;
+import com.semihtemiz.pms.service.StorageService;
+import com.semihtemiz.pms.service.TimeEntryQuery;
+
+/**
+ *giriş/çıkış kayıtları tablo modeli
+ *
+ *kayıtlar en yeni giriş önce sıralanır
+ *personel id verilmezse (yönetici) tüm personelin kayıtları,
+ *personel id ve adı sütunlarıyla gösterilir
+ *giriş ve çıkış kayıtları tabloya tek satır olarak yansır
+ */
+public class TimeEntryTableModel extends PagedTableModel<TimeEntry> {
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] ALL_COLUMNS =
+            {"Personel ID", "Personel Adı", "Tarih", "Giriş Saati", "Çıkış Saati", "Çalışma Süresi", "Fazla Mesai"};
+    private static final String[] EMPLOYEE_COLUMNS =
+            {"Tarih", "Giriş Saati", "Çıkış Saati", "Çalışma Süresi", "Fazla Mesai"};
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final StorageService dataService;
+
+    //gösterilen personel (tüm personel için null)
+    private final String employeeId;
+
+    //tablonun sorgusu (filtre ve sıra)
+    private final TimeEntryQuery filter = new TimeEntryQuery();
+    private final Comparator<TimeEntry> order;
+
+    /**
+     * @param dataService veri depolama servisi
+     * @param employeeId gösterilecek personel id veya tüm personel için null
+     * @param parent hata mesajının gösterileceği bileşen
+     */
+    public TimeEntryTableModel(StorageService dataService, String employeeId, Component parent) {
+        super(employeeId == null ? ALL_COLUMNS : EMPLOYEE_COLUMNS, DataCollection.TIME_ENTRIES, parent);
+        this.dataService = dataService;
+        this.employeeId = employeeId;
+        filter.setEmployeeId(employeeId);
+        order = filter.comparator();
+    }
+
+    @Override
+    protected Page<TimeEntry> fetch(int offset, int pageSize) {
+        TimeEntryQuery query = new TimeEntryQuery();
+        query.setEmployeeId(employeeId);
+        query.setOffset(offset);
+        query.setPageSize(pageSize);
+        return dataService.findTimeEntries(query);
+    }
+
+    @Override
+    protected boolean matches(TimeEntry entry) {
+        return filter.matches(entry);
+    }
+
+    @Override
+    protected Comparator<TimeEntry> order() {
+        return order;
+    }
+
+    @Override
+    protected String idOf(TimeEntry entry) {
+        return entry.getId();
+    }
+
+    @Override
+    protected Object format(TimeEntry entry, int column) {
+        //personel sütunları yalnızca tüm personel görünümünde var
+        if (employeeId == null) {
+            if (column == 0) {
+                return entry.getEmployeeId();
+            }
+            if (column == 1) {
+                Employee employee = dataService.getEmployeeById(entry.getEmployeeId());
+                return employee != null ? employee.getFullName() : "Bilinmeyen";
+            }
+            column -= 2;
+        }
+        switch (column) {
+            case 0:
+                return entry.getCheckIn().toLocalDate();
+            case 1:
+                return entry.getCheckIn().format(FORMATTER);
+            case 2:
+                return entry.getCheckOut() != null ? entry.getCheckOut().format(FORMATTER) : "-";
+            case 3:
+                Duration duration = entry.getWorkDuration();
+                return duration != null ?
+                        duration.toHours() + " saat " + (duration.toMinutes() % 60) + " dakika" : "-";
+            default:
+                return entry.isOvertime() ? "Evet" : "Hayır";
+        }
+    }
+}